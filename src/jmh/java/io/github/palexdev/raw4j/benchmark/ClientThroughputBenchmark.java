@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.benchmark;
+
+import io.github.palexdev.raw4j.api.RedditClient;
+import io.github.palexdev.raw4j.data.User;
+import io.github.palexdev.raw4j.data.listing.PostList;
+import io.github.palexdev.raw4j.enums.PostListType;
+import io.github.palexdev.raw4j.mock.MockRedditServer;
+import io.github.palexdev.raw4j.oauth.OAuthParameters;
+import io.github.palexdev.raw4j.utils.iterators.ListingIterator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * End-to-end throughput of the {@link RedditClient} against the {@link MockRedditServer}, with the server's
+ * latency as parameter: single requests, paging (with and without prefetching), batches and token refreshes.
+ * <p></p>
+ * The concurrency of the single requests is controlled with the JMH threads option ("-t"), the one of the batches
+ * with the 'parallelism' parameter. The server's rate limit is disabled, so that only the client is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientThroughputBenchmark {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final String USERNAME = "ThreeSixty404";
+
+    @Param({"0", "20"})
+    private int latencyMillis;
+
+    private MockRedditServer server;
+    private RedditClient client;
+
+    //================================================================================
+    // Setup
+    //================================================================================
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Disables Nagle's algorithm on the mock server, must be set before the first server is created
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = new MockRedditServer().start()
+                .setLatency(Duration.ofMillis(latencyMillis))
+                .setRateLimit(Integer.MAX_VALUE, Duration.ofMinutes(10))
+                .setListingPages(10);
+
+        OAuthParameters parameters = new OAuthParameters.ScriptFlowBuilder()
+                .setUserAgent("RAW4J Benchmark")
+                .setUsername(USERNAME)
+                .setPassword("password")
+                .setClientID("mock-client")
+                .setClientSecret("mock-secret")
+                .setApiBaseURL(server.getApiBaseURL())
+                .setAuthBaseURL(server.getAuthBaseURL())
+                .build();
+        client = RedditClient.login(parameters);
+        if (client == null) {
+            throw new IllegalStateException("Could not log in to the mock server");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    //================================================================================
+    // Benchmarks
+    //================================================================================
+    @Benchmark
+    public User getUser() {
+        return client.api().userApi().getUser(USERNAME);
+    }
+
+    @Benchmark
+    public int paging(Paging paging) {
+        return iterate(client.api().userApi().postListIterator(PostListType.ALL, USERNAME), paging.pageSize);
+    }
+
+    @Benchmark
+    public int prefetchPaging(Paging paging) {
+        return iterate(client.api().userApi().postListIterator(PostListType.ALL, USERNAME).prefetching(2), paging.pageSize);
+    }
+
+    @Benchmark
+    public Map<String, User> batchUsers(Batch batch) {
+        return client.api().userApi().getUsers(batch.usernames, batch.parallelism);
+    }
+
+    /**
+     * Every request is rejected with a 401, so the token is refreshed and the request replayed.
+     */
+    @Benchmark
+    public User tokenRefresh() {
+        server.expireTokens();
+        return client.api().userApi().getUser(USERNAME);
+    }
+
+    private int iterate(ListingIterator<PostList> iterator, int pageSize) {
+        iterator.setLimit(pageSize);
+        int pages = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            pages++;
+        }
+        return pages;
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * Parameters of the paging benchmarks.
+     */
+    @State(Scope.Thread)
+    public static class Paging {
+        @Param({"25", "100"})
+        private int pageSize;
+    }
+
+    /**
+     * Parameters of the batch benchmarks, each batch requests 64 users.
+     */
+    @State(Scope.Thread)
+    public static class Batch {
+        @Param({"8", "64"})
+        private int parallelism;
+
+        private final List<String> usernames = IntStream.range(0, 64)
+                .mapToObj(i -> "user" + i)
+                .collect(Collectors.toList());
+    }
+}
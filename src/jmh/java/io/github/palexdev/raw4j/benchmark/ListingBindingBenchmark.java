@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.benchmark;
+
+import io.github.palexdev.raw4j.data.listing.CommentList;
+import io.github.palexdev.raw4j.data.listing.Overview;
+import io.github.palexdev.raw4j.data.listing.PostList;
+import io.github.palexdev.raw4j.data.listing.TrophyList;
+import io.github.palexdev.raw4j.json.GsonInstance;
+import io.github.palexdev.raw4j.mock.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Measures the JSON binding of listings with {@link GsonInstance#fromJson(String, Class)} and
+ * {@link GsonInstance#toJson(Object)}, for each {@link Kind} and page size.
+ * <p></p>
+ * The documents are built from the fixtures in 'TestJson', see {@link Fixtures}, so no network is needed.
+ * Run with the 'jmh' Gradle task, by default the allocation rate is reported too ("-prof gc").
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListingBindingBenchmark {
+    //================================================================================
+    // Properties
+    //================================================================================
+    @Param({"OVERVIEW", "POST_LIST", "COMMENT_LIST", "TROPHY_LIST"})
+    private Kind kind;
+
+    @Param({"25", "100"})
+    private int pageSize;
+
+    private String json;
+    private Object listing;
+
+    //================================================================================
+    // Setup
+    //================================================================================
+    @Setup
+    public void setUp() {
+        json = kind.fixture.apply(pageSize);
+        listing = GsonInstance.fromJson(json, kind.type);
+    }
+
+    //================================================================================
+    // Benchmarks
+    //================================================================================
+    @Benchmark
+    public Object fromJson() {
+        return GsonInstance.fromJson(json, kind.type);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return GsonInstance.toJson(listing);
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * The listings to bind, each with the class to bind to and the function that builds
+     * the JSON document for a given page size.
+     */
+    public enum Kind {
+        OVERVIEW(Overview.class, size -> Fixtures.listing(null, size)),
+        POST_LIST(PostList.class, size -> Fixtures.listing("t3", size)),
+        COMMENT_LIST(CommentList.class, size -> Fixtures.listing("t1", size)),
+        TROPHY_LIST(TrophyList.class, Fixtures::trophyList);
+
+        private final Class<?> type;
+        private final IntFunction<String> fixture;
+
+        Kind(Class<?> type, IntFunction<String> fixture) {
+            this.type = type;
+            this.fixture = fixture;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.benchmark;
+
+import io.github.palexdev.raw4j.data.Prefs;
+import io.github.palexdev.raw4j.data.User;
+import io.github.palexdev.raw4j.json.GsonInstance;
+import io.github.palexdev.raw4j.mock.Fixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON binding of single objects with {@link GsonInstance#fromJson(String, Class)} and
+ * {@link GsonInstance#toJson(Object)}, for each {@link Kind}.
+ * <p></p>
+ * The documents are the fixtures in 'TestJson', see {@link Fixtures}, so no network is needed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThingBindingBenchmark {
+    //================================================================================
+    // Properties
+    //================================================================================
+    @Param({"USER", "PREFS"})
+    private Kind kind;
+
+    private String json;
+    private Object thing;
+
+    //================================================================================
+    // Setup
+    //================================================================================
+    @Setup
+    public void setUp() {
+        json = Fixtures.load(kind.fixture);
+        thing = GsonInstance.fromJson(json, kind.type);
+    }
+
+    //================================================================================
+    // Benchmarks
+    //================================================================================
+    @Benchmark
+    public Object fromJson() {
+        return GsonInstance.fromJson(json, kind.type);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return GsonInstance.toJson(thing);
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * The objects to bind, each with the class to bind to and the name of its fixture.
+     */
+    public enum Kind {
+        USER(User.class, "User.json"),
+        PREFS(Prefs.class, "Prefs.json");
+
+        private final Class<?> type;
+        private final String fixture;
+
+        Kind(Class<?> type, String fixture) {
+            this.type = type;
+            this.fixture = fixture;
+        }
+    }
+}
@@ -19,6 +19,8 @@
 package io.github.palexdev.raw4j.api;
 
 import io.github.palexdev.raw4j.api.listing.UserListRequestBuilder;
+import io.github.palexdev.raw4j.api.listing.base.ListingCursor;
+import io.github.palexdev.raw4j.api.listing.base.ListingRequestBuilder;
 import io.github.palexdev.raw4j.data.Prefs;
 import io.github.palexdev.raw4j.data.PrefsUpdater;
 import io.github.palexdev.raw4j.data.User;
@@ -34,7 +36,7 @@ import io.github.palexdev.raw4j.utils.iterators.ListingIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class contains all methods to interact with Account APIs.
@@ -84,8 +86,8 @@ public class AccountApi {
             authManager.getAuthData().setUsername(user.getUsername());
         }
 
-        String url = UserEndpoints.ABOUT.getFullEndpointRaw().formatted(authManager.getAuthData().getUsername());
-        loggedUser = fromJson(authManager.get(url), User.class);
+        String url = UserEndpoints.ABOUT.getFullEndpointRaw(authManager.getApiBaseURL()).formatted(authManager.getAuthData().getUsername());
+        loggedUser = authManager.get(url, User.class);
         return loggedUser;
     }
 
@@ -93,8 +95,8 @@ public class AccountApi {
      * @return the {@link User} data structure of the logged user. This uses the {@code `/api/v1/me`} endpoint.
      */
     public User getMe() {
-        String url = AccountEndpoints.ME.getFullEndpointRaw();
-        return fromJson(authManager.get(url), User.class);
+        String url = AccountEndpoints.ME.getFullEndpointRaw(authManager.getApiBaseURL());
+        return authManager.get(AccountEndpoints.ME, url, User.class);
     }
 
     /**
@@ -102,16 +104,16 @@ public class AccountApi {
      * @see KarmaList
      */
     public KarmaList getKarmaList() {
-        String url = AccountEndpoints.ME_KARMA.getFullEndpointRaw();
-        return fromJson(authManager.get(url), KarmaList.class);
+        String url = AccountEndpoints.ME_KARMA.getFullEndpointRaw(authManager.getApiBaseURL());
+        return authManager.get(AccountEndpoints.ME_KARMA, url, KarmaList.class);
     }
 
     /**
      * @return the settings list of the logged user.
      */
     public Prefs getPrefs() {
-        String url = AccountEndpoints.ME_PREFS.getFullEndpointRaw();
-        return fromJson(authManager.get(url), Prefs.class);
+        String url = AccountEndpoints.ME_PREFS.getFullEndpointRaw(authManager.getApiBaseURL());
+        return authManager.get(AccountEndpoints.ME_PREFS, url, Prefs.class);
     }
 
     /**
@@ -119,8 +121,8 @@ public class AccountApi {
      * @see TrophyList
      */
     public TrophyList getTrophyList() {
-        String url = AccountEndpoints.ME_TROPHIES.getFullEndpointRaw();
-        return fromJson(authManager.get(url), TrophyList.class);
+        String url = AccountEndpoints.ME_TROPHIES.getFullEndpointRaw(authManager.getApiBaseURL());
+        return authManager.get(AccountEndpoints.ME_TROPHIES, url, TrophyList.class);
     }
 
     /**
@@ -135,11 +137,47 @@ public class AccountApi {
      * this returns an instance of this class, to get the new refreshed info you must then call {@link #getLoggedUser()}
      */
     public AccountApi refreshLoggedUser() {
-        String url = UserEndpoints.ABOUT.getFullEndpointRaw().formatted(authManager.getAuthData().getUsername());
-        loggedUser = fromJson(authManager.get(url), User.class);
+        String url = UserEndpoints.ABOUT.getFullEndpointRaw(authManager.getApiBaseURL()).formatted(authManager.getAuthData().getUsername());
+        loggedUser = authManager.get(url, User.class);
         return this;
     }
 
+    //================================================================================
+    // Async API Implementation
+    //================================================================================
+
+    /**
+     * Asynchronous version of {@link #getMe()}.
+     */
+    public CompletableFuture<User> getMeAsync() {
+        String url = AccountEndpoints.ME.getFullEndpointRaw(authManager.getApiBaseURL());
+        return authManager.getAsync(AccountEndpoints.ME, url, User.class);
+    }
+
+    /**
+     * Asynchronous version of {@link #getKarmaList()}.
+     */
+    public CompletableFuture<KarmaList> getKarmaListAsync() {
+        String url = AccountEndpoints.ME_KARMA.getFullEndpointRaw(authManager.getApiBaseURL());
+        return authManager.getAsync(AccountEndpoints.ME_KARMA, url, KarmaList.class);
+    }
+
+    /**
+     * Asynchronous version of {@link #getPrefs()}.
+     */
+    public CompletableFuture<Prefs> getPrefsAsync() {
+        String url = AccountEndpoints.ME_PREFS.getFullEndpointRaw(authManager.getApiBaseURL());
+        return authManager.getAsync(AccountEndpoints.ME_PREFS, url, Prefs.class);
+    }
+
+    /**
+     * Asynchronous version of {@link #getTrophyList()}.
+     */
+    public CompletableFuture<TrophyList> getTrophyListAsync() {
+        String url = AccountEndpoints.ME_TROPHIES.getFullEndpointRaw(authManager.getApiBaseURL());
+        return authManager.getAsync(AccountEndpoints.ME_TROPHIES, url, TrophyList.class);
+    }
+
     //================================================================================
     // Iterators
     //================================================================================
@@ -151,6 +189,15 @@ public class AccountApi {
         return userListRequestBuilder(type).iterator();
     }
 
+    /**
+     * @return a new iterator to iterate through {@link UserList} listings, resuming from the given cursor,
+     * see {@link ListingRequestBuilder#iterator(ListingCursor)}
+     * @throws IllegalArgumentException if the cursor was not produced for {@link UserList}s
+     */
+    public ListingIterator<UserList> userListIterator(ListingCursor cursor) {
+        return userListRequestBuilder(cursor.getListingType(UserListType.class)).iterator(cursor);
+    }
+
     //================================================================================
     // Request Builders
     //================================================================================
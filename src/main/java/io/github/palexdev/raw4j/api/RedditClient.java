@@ -20,10 +20,17 @@ package io.github.palexdev.raw4j.api;
 
 import io.github.palexdev.raw4j.enums.Scopes;
 import io.github.palexdev.raw4j.exception.OAuthException;
+import io.github.palexdev.raw4j.http.RateLimiter;
+import io.github.palexdev.raw4j.http.RequestHistogram;
+import io.github.palexdev.raw4j.http.RequestListener;
+import io.github.palexdev.raw4j.http.ResponseCache;
+import io.github.palexdev.raw4j.http.RetryPolicy;
 import io.github.palexdev.raw4j.oauth.*;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
+import io.github.palexdev.raw4j.utils.ExecutorUtils;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * This is the main class of this framework. RedditClient is responsible for authenticating the app/script,
@@ -162,6 +169,76 @@ public class RedditClient {
         return getAuthInfo().getScopes();
     }
 
+    /**
+     * @return the {@link RateLimiter} of this client, to inspect the current rate limit state
+     * (remaining requests, reset time, number of queued requests)
+     */
+    public RateLimiter getRateLimiter() {
+        return authManager.getRateLimiter();
+    }
+
+    /**
+     * @return how many requests have been replayed with a new token after being rejected with a "401 Unauthorized",
+     * a frequently increasing value means that tokens are being invalidated server-side
+     */
+    public long getUnauthorizedRetries() {
+        return authManager.getUnauthorizedRetries();
+    }
+
+    /**
+     * @return the {@link ResponseCache} of this client, to inspect its statistics or invalidate entries.
+     * Null if not set in the {@link OAuthParameters}
+     */
+    public ResponseCache getResponseCache() {
+        return authManager.getResponseCache();
+    }
+
+    /**
+     * @return the {@link RetryPolicy} of this client, to inspect the number of retries or set a listener
+     */
+    public RetryPolicy getRetryPolicy() {
+        return authManager.getRetryPolicy();
+    }
+
+    /**
+     * @return the {@link RequestListener} which observes the calls of this client, null if not set
+     */
+    public RequestListener getRequestListener() {
+        return authManager.getRequestListener();
+    }
+
+    /**
+     * Sets the {@link RequestListener} which observes the calls of this client, for example a {@link RequestHistogram}
+     * to find the hottest endpoints. Null to remove it.
+     */
+    public RedditClient setRequestListener(RequestListener requestListener) {
+        authManager.setRequestListener(requestListener);
+        return this;
+    }
+
+    /**
+     * @return the {@link Executor} on which this client runs blocking work in background,
+     * by default {@link ExecutorUtils#virtualThreads()}
+     */
+    public Executor getExecutor() {
+        return authManager.getExecutor();
+    }
+
+    /**
+     * @return the base URL of the API endpoints used by this client, see {@link OAuthParameters#getApiBaseURL()}
+     */
+    public String getApiBaseURL() {
+        return authManager.getApiBaseURL();
+    }
+
+    /**
+     * @return the base URL of the OAuth endpoints used by this client, null if the default ones are used,
+     * see {@link OAuthParameters#getAuthBaseURL()}
+     */
+    public String getAuthBaseURL() {
+        return authManager.getAuthBaseURL();
+    }
+
     OAuthFlow getAuthManager() {
         return authManager;
     }
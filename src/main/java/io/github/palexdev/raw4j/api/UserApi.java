@@ -19,9 +19,12 @@
 package io.github.palexdev.raw4j.api;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import io.github.palexdev.raw4j.api.listing.CommentListRequestBuilder;
 import io.github.palexdev.raw4j.api.listing.OverviewRequestBuilder;
 import io.github.palexdev.raw4j.api.listing.PostListRequestBuilder;
+import io.github.palexdev.raw4j.api.listing.base.ListingCursor;
+import io.github.palexdev.raw4j.api.listing.base.ListingRequestBuilder;
 import io.github.palexdev.raw4j.data.User;
 import io.github.palexdev.raw4j.data.listing.CommentList;
 import io.github.palexdev.raw4j.data.listing.Overview;
@@ -31,11 +34,24 @@ import io.github.palexdev.raw4j.data.listing.UserList.ListingUser;
 import io.github.palexdev.raw4j.enums.OverviewType;
 import io.github.palexdev.raw4j.enums.PostListType;
 import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
+import io.github.palexdev.raw4j.exception.HttpStatusException;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
+import io.github.palexdev.raw4j.utils.collections.FixedSizeCacheMap;
 import io.github.palexdev.raw4j.utils.iterators.ListingIterator;
 import okhttp3.FormBody;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
 
@@ -46,9 +62,16 @@ public class UserApi {
     //================================================================================
     // Properties
     //================================================================================
+    public static final int DEFAULT_PARALLELISM = 8;
+    private static final Logger logger = LoggerFactory.getLogger(UserApi.class.getSimpleName());
+
     private final RedditApiWrapper wrapper;
     private final OAuthFlow authManager;
 
+    private static final int NOT_FOUND_CACHE_SIZE = 10_000;
+    private final Map<String, Long> notFoundCache = Collections.synchronizedMap(new FixedSizeCacheMap<>(NOT_FOUND_CACHE_SIZE));
+    private Duration notFoundCacheDuration = Duration.ofHours(1);
+
     //================================================================================
     // Constructors
     //================================================================================
@@ -67,7 +90,7 @@ public class UserApi {
      * @return the user object on success
      */
     public ListingUser addFriend(String username) {
-        String url = String.format(UserEndpoints.FRIENDS.getFullEndpoint(), username);
+        String url = String.format(UserEndpoints.FRIENDS.getFullEndpoint(authManager.getApiBaseURL()), username);
         JsonObject obj = new JsonObject();
         obj.addProperty("user", username);
 
@@ -79,7 +102,7 @@ public class UserApi {
      * Blocks the given user.
      */
     public void blockUser(String username) {
-        String url = UserEndpoints.BLOCK.getFullEndpoint();
+        String url = UserEndpoints.BLOCK.getFullEndpoint(authManager.getApiBaseURL());
         RequestBody requestBody = new FormBody.Builder()
                 .add("name", username)
                 .build();
@@ -87,25 +110,44 @@ public class UserApi {
     }
 
     public TrophyList getTrophies(String username) {
-        String url = String.format(UserEndpoints.TROPHIES.getFullEndpoint(), username);
-        return fromJson(authManager.get(url), TrophyList.class);
+        String url = String.format(UserEndpoints.TROPHIES.getFullEndpoint(authManager.getApiBaseURL()), username);
+        return authManager.get(UserEndpoints.TROPHIES, url, TrophyList.class);
     }
 
     /**
      * Retrieves the {@link User} data structure for the given username.
      * <p></p>
-     * Before returning checks if the user exists, in case it doesn't, returns null.
+     * This sends a single request to the about endpoint, if the user doesn't exist Reddit responds with
+     * a 404 error, in such case returns null and the username is remembered for some time, so that subsequent
+     * lookups return null without sending any request, see {@link #setNotFoundCacheDuration(Duration)}.
+     * <p>
+     * Suspended users are returned, see {@link User#isSuspended()}.
+     * <p>
+     * Returns null also if the request fails for any other reason.
      */
     public User getUser(String username) {
-        String url = UserEndpoints.ABOUT.getFullEndpointRaw().formatted(username);
-        return userExists(username) ? fromJson(authManager.get(url), User.class) : null;
+        if (isCachedNotFound(username)) {
+            return null;
+        }
+
+        String url = UserEndpoints.ABOUT.getFullEndpointRaw(authManager.getApiBaseURL()).formatted(username);
+        try {
+            return authManager.getChecked(UserEndpoints.ABOUT, url, User.class);
+        } catch (HttpStatusException ex) {
+            if (!isNotFound(username, ex)) {
+                logger.error("Failed to retrieve user: " + username + ", cause was: " + ex.getMessage());
+            }
+        } catch (JsonParseException | IOException ex) {
+            logger.error("Failed to retrieve user: " + username + ", cause was: " + ex.getMessage());
+        }
+        return null;
     }
 
     /**
      * Removes the given user from the friends list.
      */
     public void removeFriend(String username) {
-        String url = String.format(UserEndpoints.FRIENDS.getFullEndpoint(), username);
+        String url = String.format(UserEndpoints.FRIENDS.getFullEndpoint(authManager.getApiBaseURL()), username);
         authManager.delete(url);
     }
 
@@ -119,7 +161,7 @@ public class UserApi {
             throw new IllegalArgumentException("The reason exceeds the characters limit of 100, length is: " + reason.length());
         }
 
-        String url = UserEndpoints.REPORT.getFullEndpoint();
+        String url = UserEndpoints.REPORT.getFullEndpoint(authManager.getApiBaseURL());
         RequestBody requestBody = new FormBody.Builder()
                 .add("user", username)
                 .add("reason", reason)
@@ -138,7 +180,7 @@ public class UserApi {
         }
 
         fromJson(jsonData, JsonObject.class);
-        String url = UserEndpoints.REPORT.getFullEndpoint();
+        String url = UserEndpoints.REPORT.getFullEndpoint(authManager.getApiBaseURL());
         RequestBody requestBody = new FormBody.Builder()
                 .add("user", username)
                 .add("reason", reason)
@@ -151,7 +193,7 @@ public class UserApi {
      * Unblocks the given user.
      */
     public void unblockUser(String username) {
-        String url = UserEndpoints.UNFRIEND.getFullEndpoint();
+        String url = UserEndpoints.UNFRIEND.getFullEndpoint(authManager.getApiBaseURL());
         String loggedUserID = wrapper.accountApi().getLoggedUser().getName();
         RequestBody requestBody = new FormBody.Builder()
                 .add("type", "enemy")
@@ -172,10 +214,213 @@ public class UserApi {
      * Checks if the given username is available.
      */
     public Boolean usernameAvailable(String username) {
-        String url = String.format(UserEndpoints.USERNAME_AVAILABLE.getFullEndpoint(), username);
+        String url = String.format(UserEndpoints.USERNAME_AVAILABLE.getFullEndpoint(authManager.getApiBaseURL()), username);
         return authManager.getBoolean(url);
     }
 
+    //================================================================================
+    // Async API Implementation
+    //================================================================================
+
+    /**
+     * Asynchronous version of {@link #getTrophies(String)}.
+     */
+    public CompletableFuture<TrophyList> getTrophiesAsync(String username) {
+        String url = String.format(UserEndpoints.TROPHIES.getFullEndpoint(authManager.getApiBaseURL()), username);
+        return authManager.getAsync(UserEndpoints.TROPHIES, url, TrophyList.class);
+    }
+
+    /**
+     * Asynchronous version of {@link #getUser(String)}.
+     * <p>
+     * The future is completed with null if the user doesn't exist, or completed exceptionally
+     * if the request fails for any other reason.
+     */
+    public CompletableFuture<User> getUserAsync(String username) {
+        if (isCachedNotFound(username)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String url = UserEndpoints.ABOUT.getFullEndpointRaw(authManager.getApiBaseURL()).formatted(username);
+        return authManager.<User>getAsync(UserEndpoints.ABOUT, url, User.class).exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+            if (cause instanceof HttpStatusException statusEx && isNotFound(username, statusEx)) {
+                return null;
+            }
+            throw ex instanceof CompletionException completionEx ? completionEx : new CompletionException(ex);
+        });
+    }
+
+    /**
+     * Asynchronous version of {@link #userExists(String)}.
+     */
+    public CompletableFuture<Boolean> userExistsAsync(String username) {
+        return usernameAvailableAsync(username).thenApply(available -> !available);
+    }
+
+    /**
+     * Asynchronous version of {@link #usernameAvailable(String)}.
+     */
+    public CompletableFuture<Boolean> usernameAvailableAsync(String username) {
+        String url = String.format(UserEndpoints.USERNAME_AVAILABLE.getFullEndpoint(authManager.getApiBaseURL()), username);
+        return authManager.getBooleanAsync(url);
+    }
+
+    //================================================================================
+    // Batch API Implementation
+    //================================================================================
+
+    /**
+     * Calls {@link #getUsers(Collection, int)} with {@link #DEFAULT_PARALLELISM}.
+     */
+    public Map<String, User> getUsers(Collection<String> usernames) {
+        return getUsers(usernames, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Retrieves the {@link User} data structure for each of the given usernames, by running
+     * {@link #getUser(String)} for at most {@code parallelism} users at a time on the client's executor,
+     * see {@link OAuthFlow#getExecutor()}.
+     * <p>
+     * Requests are still paced by the client's rate limiter, see {@link OAuthFlow#getRateLimiter()}.
+     * <p></p>
+     * This method blocks until all the requests are completed.
+     *
+     * @return a map username -> user, in completion order. Users that don't exist or for which the request failed are not included
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public Map<String, User> getUsers(Collection<String> usernames, int parallelism) {
+        return fanOut(usernames, parallelism, this::getUser);
+    }
+
+    /**
+     * Calls {@link #getTrophies(Collection, int)} with {@link #DEFAULT_PARALLELISM}.
+     */
+    public Map<String, TrophyList> getTrophies(Collection<String> usernames) {
+        return getTrophies(usernames, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Retrieves the {@link TrophyList} for each of the given usernames, by running
+     * {@link #getTrophies(String)} for at most {@code parallelism} users at a time on the client's executor,
+     * see {@link OAuthFlow#getExecutor()}.
+     * <p>
+     * Requests are still paced by the client's rate limiter, see {@link OAuthFlow#getRateLimiter()}.
+     * <p></p>
+     * This method blocks until all the requests are completed.
+     *
+     * @return a map username -> trophies, in completion order. Users for which the request failed are not included
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public Map<String, TrophyList> getTrophies(Collection<String> usernames, int parallelism) {
+        return fanOut(usernames, parallelism, this::getTrophies);
+    }
+
+    /**
+     * Runs the given blocking request for each of the given usernames on the client's executor, a {@link Semaphore}
+     * is used to keep at most {@code parallelism} requests in flight.
+     * <p>
+     * Since the requests are blocking they are not limited by the OkHttp dispatcher, with the default executor
+     * each request takes a virtual thread, so the parallelism can be very high.
+     * <p>
+     * If the calling thread is interrupted no more requests are sent, the results of the requests
+     * already sent are still returned.
+     */
+    private <R> Map<String, R> fanOut(Collection<String> usernames, int parallelism, Function<String, R> request) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, was: " + parallelism);
+        }
+
+        Map<String, R> results = Collections.synchronizedMap(new LinkedHashMap<>());
+        Semaphore permits = new Semaphore(parallelism);
+        List<CompletableFuture<R>> futures = new ArrayList<>();
+        for (String username : usernames) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            CompletableFuture<R> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> request.apply(username), authManager.getExecutor());
+            } catch (RejectedExecutionException ex) {
+                permits.release();
+                break;
+            }
+            futures.add(future.whenComplete((result, ex) -> {
+                if (ex == null && result != null) {
+                    results.put(username, result);
+                }
+                permits.release();
+            }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .exceptionally(ex -> null)
+                .join();
+        return results;
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * Checks whether the about endpoint responded with a "404 Not Found", in such case
+     * the username is added to the not found cache.
+     */
+    private boolean isNotFound(String username, HttpStatusException ex) {
+        if (ex.getCode() != 404) {
+            return false;
+        }
+        notFoundCache.put(cacheKey(username), System.currentTimeMillis() + notFoundCacheDuration.toMillis());
+        return true;
+    }
+
+    /**
+     * @return whether the given username is in the not found cache and the entry is not expired yet
+     */
+    private boolean isCachedNotFound(String username) {
+        String key = cacheKey(username);
+        Long expireTime = notFoundCache.get(key);
+        if (expireTime == null) {
+            return false;
+        }
+        if (expireTime < System.currentTimeMillis()) {
+            notFoundCache.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private String cacheKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Removes all the entries from the not found cache, see {@link #getUser(String)}.
+     */
+    public void clearNotFoundCache() {
+        notFoundCache.clear();
+    }
+
+    /**
+     * @return for how long usernames that don't exist are remembered by {@link #getUser(String)}
+     */
+    public Duration getNotFoundCacheDuration() {
+        return notFoundCacheDuration;
+    }
+
+    /**
+     * Sets for how long usernames that don't exist are remembered by {@link #getUser(String)}.
+     * {@link Duration#ZERO} effectively disables the cache.
+     */
+    public void setNotFoundCacheDuration(Duration notFoundCacheDuration) {
+        this.notFoundCacheDuration = notFoundCacheDuration;
+    }
+
     //================================================================================
     // Iterators
     //================================================================================
@@ -201,6 +446,33 @@ public class UserApi {
         return postListRequestBuilder(type, username).iterator();
     }
 
+    /**
+     * @return a new iterator to iterate through {@link CommentList} listings, resuming from the given cursor,
+     * see {@link ListingRequestBuilder#iterator(ListingCursor)}
+     * @throws IllegalArgumentException if the cursor was not produced for {@link CommentList}s
+     */
+    public ListingIterator<CommentList> commentListIterator(ListingCursor cursor) {
+        return commentListsRequestBuilder(cursor.getUsername()).iterator(cursor);
+    }
+
+    /**
+     * @return a new iterator to iterate through {@link Overview} listings, resuming from the given cursor,
+     * see {@link ListingRequestBuilder#iterator(ListingCursor)}
+     * @throws IllegalArgumentException if the cursor was not produced for {@link Overview}s
+     */
+    public ListingIterator<Overview> overviewIterator(ListingCursor cursor) {
+        return overviewRequestBuilder(cursor.getListingType(OverviewType.class), cursor.getUsername()).iterator(cursor);
+    }
+
+    /**
+     * @return a new iterator to iterate through {@link PostList} listings, resuming from the given cursor,
+     * see {@link ListingRequestBuilder#iterator(ListingCursor)}
+     * @throws IllegalArgumentException if the cursor was not produced for {@link PostList}s
+     */
+    public ListingIterator<PostList> postListIterator(ListingCursor cursor) {
+        return postListRequestBuilder(cursor.getListingType(PostListType.class), cursor.getUsername()).iterator(cursor);
+    }
+
     //================================================================================
     // Request Builders
     //================================================================================
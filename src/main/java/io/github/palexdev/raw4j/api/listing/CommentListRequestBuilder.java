@@ -18,11 +18,13 @@
 
 package io.github.palexdev.raw4j.api.listing;
 
+import io.github.palexdev.raw4j.api.listing.base.ListingCursor;
 import io.github.palexdev.raw4j.api.listing.base.ListingRequestBuilder;
 import io.github.palexdev.raw4j.data.listing.CommentList;
 import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
 import io.github.palexdev.raw4j.utils.NumberUtils;
+import okhttp3.HttpUrl;
 
 /**
  * Implementation of {@link ListingRequestBuilder} to manage {@link CommentList} listings.
@@ -54,12 +56,18 @@ public class CommentListRequestBuilder extends ListingRequestBuilder<CommentList
 
     /**
      * Responsible for building the correct request URL to get a listing of comments.
-     * <p></p>
-     * This is also responsible for adding parameters to the URL if needed.
      */
     @Override
-    protected String buildRequestURL(String parameters) {
-        return String.format(UserEndpoints.COMMENTS.getFullEndpointRaw(), username) + parameters;
+    protected HttpUrl buildRequestURL() {
+        return HttpUrl.get(String.format(UserEndpoints.COMMENTS.getFullEndpointRaw(authManager.getApiBaseURL()), username));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ListingCursor createCursor(int count, String after, String before) {
+        return new ListingCursor(ListingCursor.Source.COMMENT_LIST, null, username, limit, count, after, before);
     }
 
     /**
@@ -67,7 +75,7 @@ public class CommentListRequestBuilder extends ListingRequestBuilder<CommentList
      */
     @Override
     protected void updateCount(CommentList commentList) {
-        count += NumberUtils.clamp(limit, 0, commentList.comments().size());
+        addCount(NumberUtils.clamp(limit, 0, commentList.comments().size()));
     }
 
     /**
@@ -18,18 +18,16 @@
 
 package io.github.palexdev.raw4j.api.listing;
 
+import io.github.palexdev.raw4j.api.listing.base.ListingCursor;
 import io.github.palexdev.raw4j.api.listing.base.ListingRequestBuilder;
 import io.github.palexdev.raw4j.data.Comment;
 import io.github.palexdev.raw4j.data.Post;
 import io.github.palexdev.raw4j.data.listing.Overview;
-import io.github.palexdev.raw4j.data.listing.PostList;
 import io.github.palexdev.raw4j.enums.OverviewType;
-import io.github.palexdev.raw4j.enums.PostListType;
 import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
 import io.github.palexdev.raw4j.utils.NumberUtils;
-
-import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
+import okhttp3.HttpUrl;
 
 /**
  * Implementation of {@link ListingRequestBuilder} to manage {@link Overview} like listings.
@@ -46,7 +44,7 @@ import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
  * to ensure that {@link #next(Overview)} and {@link #previous(Overview)} methods return the correct listing.
  * <p>
  * For this reason this builder needs to know on which type of overview is operating, {@link OverviewType}.
- * The type is necessary to build the correct request url, {@link #buildRequestURL(String)}.
+ * The type is necessary to build the correct request url, {@link #buildRequestURL()}.
  */
 public class OverviewRequestBuilder extends ListingRequestBuilder<Overview> {
     //================================================================================
@@ -78,6 +76,7 @@ public class OverviewRequestBuilder extends ListingRequestBuilder<Overview> {
      *
      * @throws IllegalArgumentException if the types are not the same
      */
+    @Override
     protected void checkTypes(Overview overview) {
         if (overview.getOverviewType() != type) {
             throw new IllegalArgumentException(
@@ -93,58 +92,36 @@ public class OverviewRequestBuilder extends ListingRequestBuilder<Overview> {
 
     /**
      * Responsible for building the correct request URL from the desired type of {@link OverviewType}.
-     * <p></p>
-     * This is also responsible for adding parameters to the URL if needed.
-     */
-    @Override
-    protected String buildRequestURL(String parameters) {
-        StringBuilder urlBuilder = new StringBuilder();
-        switch (type) {
-            case ALL -> urlBuilder.append(UserEndpoints.OVERVIEW.getFullEndpointRaw());
-            case AWARDED -> urlBuilder.append(UserEndpoints.GILDED.getFullEndpointRaw());
-            case AWARD_GIVEN -> urlBuilder.append(UserEndpoints.GILDED_GIVEN.getFullEndpointRaw());
-            case SAVED -> urlBuilder.append(UserEndpoints.SAVED.getFullEndpointRaw());
-        }
-        urlBuilder.append(parameters);
-        return String.format(urlBuilder.toString(), username);
-    }
-
-    /**
-     * {@inheritDoc}
-     * <p></p>
-     * Overridden as this request builder has to set the overviewType property of the {@link Overview},
-     * see {@link Overview#setOverviewType(OverviewType)}.
      */
     @Override
-    protected Overview get(String url) {
-        Overview overview = fromJson(authManager.get(url), Overview.class);
-        overview.setOverviewType(type);
-        updateCount(overview);
-        return overview;
+    protected HttpUrl buildRequestURL() {
+        UserEndpoints endpoint = switch (type) {
+            case ALL -> UserEndpoints.OVERVIEW;
+            case AWARDED -> UserEndpoints.GILDED;
+            case AWARD_GIVEN -> UserEndpoints.GILDED_GIVEN;
+            case SAVED -> UserEndpoints.SAVED;
+        };
+        return HttpUrl.get(String.format(endpoint.getFullEndpointRaw(authManager.getApiBaseURL()), username));
     }
 
     /**
      * {@inheritDoc}
-     * <p></p>
-     * Overridden as this request builder has to set the postListType property of the {@link PostList},
-     * see {@link PostList#setPostListType(PostListType)}.
      */
     @Override
-    public Overview next(Overview overview) {
-        checkTypes(overview);
-        return super.next(overview);
+    protected ListingCursor createCursor(int count, String after, String before) {
+        return new ListingCursor(ListingCursor.Source.OVERVIEW, type.name(), username, limit, count, after, before);
     }
 
     /**
      * {@inheritDoc}
      * <p></p>
-     * Overridden as this request builder has to set the postListType property of the {@link PostList},
-     * see {@link PostList#setPostListType(PostListType)}.
+     * Overridden as this request builder has to set the overviewType property of the {@link Overview},
+     * see {@link Overview#setOverviewType(OverviewType)}.
      */
     @Override
-    public Overview previous(Overview overview) {
-        checkTypes(overview);
-        return super.previous(overview);
+    protected Overview process(Overview overview) {
+        overview.setOverviewType(type);
+        return super.process(overview);
     }
 
     /**
@@ -152,7 +129,7 @@ public class OverviewRequestBuilder extends ListingRequestBuilder<Overview> {
      */
     @Override
     protected void updateCount(Overview overview) {
-        count += NumberUtils.clamp(limit, 0, overview.submissions().size());
+        addCount(NumberUtils.clamp(limit, 0, overview.submissions().size()));
     }
 
     /**
@@ -18,14 +18,14 @@
 
 package io.github.palexdev.raw4j.api.listing;
 
+import io.github.palexdev.raw4j.api.listing.base.ListingCursor;
 import io.github.palexdev.raw4j.api.listing.base.ListingRequestBuilder;
 import io.github.palexdev.raw4j.data.listing.PostList;
 import io.github.palexdev.raw4j.enums.PostListType;
 import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
 import io.github.palexdev.raw4j.utils.NumberUtils;
-
-import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
+import okhttp3.HttpUrl;
 
 /**
  * Implementation of {@link ListingRequestBuilder} to manage {@link PostList} listings.
@@ -39,7 +39,7 @@ import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
  * to ensure that {@link #next(PostList)} and {@link #previous(PostList)} methods return the correct listing.
  * <p>
  * For this reason this builder needs to know on which type of PostList is operating, {@link PostListType}.
- * The type is necessary to build the correct request url, {@link #buildRequestURL(String)}.
+ * The type is necessary to build the correct request url, {@link #buildRequestURL()}.
  */
 public class PostListRequestBuilder extends ListingRequestBuilder<PostList> {
     //================================================================================
@@ -71,6 +71,7 @@ public class PostListRequestBuilder extends ListingRequestBuilder<PostList> {
      *
      * @throws IllegalArgumentException if the types are not the same
      */
+    @Override
     protected void checkTypes(PostList postList) {
         if (postList.getPostListType() != type) {
             throw new IllegalArgumentException(
@@ -86,56 +87,36 @@ public class PostListRequestBuilder extends ListingRequestBuilder<PostList> {
 
     /**
      * Responsible for building the correct request URL from the desired type of {@link PostListType}.
-     * <p></p>
-     * This is also responsible for adding parameters to the URL if needed.
-     */
-    @Override
-    protected String buildRequestURL(String parameters) {
-        StringBuilder urlBuilder = new StringBuilder();
-        switch (type) {
-            case ALL -> urlBuilder.append(UserEndpoints.POSTS.getFullEndpointRaw());
-            case DOWNVOTED -> urlBuilder.append(UserEndpoints.DOWNVOTED.getFullEndpointRaw());
-            case HIDDEN -> urlBuilder.append(UserEndpoints.HIDDEN.getFullEndpointRaw());
-            case UPVOTED -> urlBuilder.append(UserEndpoints.UPVOTED.getFullEndpointRaw());
-        }
-        urlBuilder.append(parameters);
-        return String.format(urlBuilder.toString(), username);
-    }
-
-    /**
-     * {@inheritDoc}
-     * <p></p>
-     * Overridden as this request builder has to set the postListType property of the {@link PostList},
-     * see {@link PostList#setPostListType(PostListType)}.
      */
     @Override
-    protected PostList get(String url) {
-        PostList postList = fromJson(authManager.get(url), PostList.class);
-        postList.setPostListType(type);
-        updateCount(postList);
-        return postList;
+    protected HttpUrl buildRequestURL() {
+        UserEndpoints endpoint = switch (type) {
+            case ALL -> UserEndpoints.POSTS;
+            case DOWNVOTED -> UserEndpoints.DOWNVOTED;
+            case HIDDEN -> UserEndpoints.HIDDEN;
+            case UPVOTED -> UserEndpoints.UPVOTED;
+        };
+        return HttpUrl.get(String.format(endpoint.getFullEndpointRaw(authManager.getApiBaseURL()), username));
     }
 
     /**
      * {@inheritDoc}
-     * <p></p>
-     * Overridden to check types, {@link #checkTypes(PostList)}.
      */
     @Override
-    public PostList next(PostList postList) {
-        checkTypes(postList);
-        return super.next(postList);
+    protected ListingCursor createCursor(int count, String after, String before) {
+        return new ListingCursor(ListingCursor.Source.POST_LIST, type.name(), username, limit, count, after, before);
     }
 
     /**
      * {@inheritDoc}
      * <p></p>
-     * Overridden to check types, {@link #checkTypes(PostList)}.
+     * Overridden as this request builder has to set the postListType property of the {@link PostList},
+     * see {@link PostList#setPostListType(PostListType)}.
      */
     @Override
-    public PostList previous(PostList postList) {
-        checkTypes(postList);
-        return super.previous(postList);
+    protected PostList process(PostList postList) {
+        postList.setPostListType(type);
+        return super.process(postList);
     }
 
     /**
@@ -143,7 +124,7 @@ public class PostListRequestBuilder extends ListingRequestBuilder<PostList> {
      */
     @Override
     protected void updateCount(PostList postList) {
-        count += NumberUtils.clamp(limit, 0, postList.posts().size());
+        addCount(NumberUtils.clamp(limit, 0, postList.posts().size()));
     }
 
     /**
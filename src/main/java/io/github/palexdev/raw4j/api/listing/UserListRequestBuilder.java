@@ -18,14 +18,14 @@
 
 package io.github.palexdev.raw4j.api.listing;
 
+import io.github.palexdev.raw4j.api.listing.base.ListingCursor;
 import io.github.palexdev.raw4j.api.listing.base.ListingRequestBuilder;
 import io.github.palexdev.raw4j.data.listing.UserList;
 import io.github.palexdev.raw4j.enums.UserListType;
 import io.github.palexdev.raw4j.enums.endpoints.AccountEndpoints;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
 import io.github.palexdev.raw4j.utils.NumberUtils;
-
-import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
+import okhttp3.HttpUrl;
 
 /**
  * Implementation of {@link ListingRequestBuilder} to manage {@link UserList} listings.
@@ -37,7 +37,7 @@ import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
  * to ensure that {@link #next(UserList)} and {@link #previous(UserList)} methods return the correct listing.
  * <p>
  * For this reason this builder needs to know on which type of UserList is operating, {@link UserListType}.
- * The type is necessary to build the correct request url, {@link #buildRequestURL(String)}.
+ * The type is necessary to build the correct request url, {@link #buildRequestURL()}.
  */
 public class UserListRequestBuilder extends ListingRequestBuilder<UserList> {
     //================================================================================
@@ -66,6 +66,7 @@ public class UserListRequestBuilder extends ListingRequestBuilder<UserList> {
      *
      * @throws IllegalArgumentException if the types are not the same
      */
+    @Override
     protected void checkTypes(UserList userList) {
         if (userList.getUserListType() != type) {
             throw new IllegalArgumentException(
@@ -81,55 +82,35 @@ public class UserListRequestBuilder extends ListingRequestBuilder<UserList> {
 
     /**
      * Responsible for building the correct request URL from the desired type of {@link UserList}, see {@link UserListType}.
-     * <p></p>
-     * This is also responsible for adding parameters to the URL if needed.
-     */
-    @Override
-    protected String buildRequestURL(String parameters) {
-        StringBuilder urlBuilder = new StringBuilder();
-        switch (type) {
-            case BLOCKED -> urlBuilder.append(AccountEndpoints.PREFS_BLOCKED.getFullEndpointRaw());
-            case FRIENDS -> urlBuilder.append(AccountEndpoints.PREFS_FRIENDS.getFullEndpointRaw());
-            case TRUSTED -> urlBuilder.append(AccountEndpoints.PREFS_TRUSTED.getFullEndpointRaw());
-        }
-        urlBuilder.append(parameters);
-        return urlBuilder.toString();
-    }
-
-    /**
-     * {@inheritDoc}
-     * <p></p>
-     * Overridden as this request builder has to set the userListType property of the {@link UserList},
-     * see {@link UserList#setUserListType(UserListType)}.
      */
     @Override
-    protected UserList get(String url) {
-        UserList userList = fromJson(authManager.get(url), UserList.class);
-        userList.setUserListType(type);
-        updateCount(userList);
-        return userList;
+    protected HttpUrl buildRequestURL() {
+        AccountEndpoints endpoint = switch (type) {
+            case BLOCKED -> AccountEndpoints.PREFS_BLOCKED;
+            case FRIENDS -> AccountEndpoints.PREFS_FRIENDS;
+            case TRUSTED -> AccountEndpoints.PREFS_TRUSTED;
+        };
+        return HttpUrl.get(endpoint.getFullEndpointRaw(authManager.getApiBaseURL()));
     }
 
     /**
      * {@inheritDoc}
-     * <p></p>
-     * Overridden to check types, {@link #checkTypes(UserList)}.
      */
     @Override
-    public UserList next(UserList userList) {
-        checkTypes(userList);
-        return super.next(userList);
+    protected ListingCursor createCursor(int count, String after, String before) {
+        return new ListingCursor(ListingCursor.Source.USER_LIST, type.name(), null, limit, count, after, before);
     }
 
     /**
      * {@inheritDoc}
      * <p></p>
-     * Overridden to check types, {@link #checkTypes(UserList)}.
+     * Overridden as this request builder has to set the userListType property of the {@link UserList},
+     * see {@link UserList#setUserListType(UserListType)}.
      */
     @Override
-    public UserList previous(UserList userList) {
-        checkTypes(userList);
-        return super.previous(userList);
+    protected UserList process(UserList userList) {
+        userList.setUserListType(type);
+        return super.process(userList);
     }
 
     /**
@@ -137,7 +118,7 @@ public class UserListRequestBuilder extends ListingRequestBuilder<UserList> {
      */
     @Override
     protected void updateCount(UserList userList) {
-        count += NumberUtils.clamp(limit, 0, userList.users().size());
+        addCount(NumberUtils.clamp(limit, 0, userList.users().size()));
     }
 
     /**
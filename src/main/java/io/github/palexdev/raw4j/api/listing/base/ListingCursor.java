@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.api.listing.base;
+
+import com.google.gson.annotations.SerializedName;
+import io.github.palexdev.raw4j.data.base.Listing;
+import io.github.palexdev.raw4j.utils.iterators.ListingIterator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
+import static io.github.palexdev.raw4j.json.GsonInstance.toJson;
+
+/**
+ * A cursor is a snapshot of the position of a {@link ListingRequestBuilder} in a listing, it contains everything
+ * needed to resume the navigation later, even from another process:
+ * <p> - the source, that is the kind of builder that produced the cursor, see {@link Source}
+ * <p> - the type of listing as the name of the builder's type enum (null for builders that have no type)
+ * <p> - the username of the redditor (null for builders that don't need it)
+ * <p> - the limit and the count of items fetched till now
+ * <p> - the 'after' and 'before' properties of the last fetched listing
+ * <p></p>
+ * Cursors are produced by {@link ListingRequestBuilder#cursor(Listing)} or {@link ListingIterator#cursor()},
+ * can be saved to and loaded from a JSON file, see {@link #save(Path)} and {@link #load(Path)}, and are used
+ * to resume an iterator with {@link ListingRequestBuilder#iterator(ListingCursor)}.
+ * <p></p>
+ * Instances are immutable.
+ */
+public final class ListingCursor {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final Source source;
+
+    @SerializedName("listing_type")
+    private final String listingType;
+
+    private final String username;
+    private final int limit;
+    private final int count;
+    private final String after;
+    private final String before;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+
+    /**
+     * Used by Gson.
+     */
+    private ListingCursor() {
+        this(null, null, null, 0, 0, null, null);
+    }
+
+    public ListingCursor(Source source, String listingType, String username, int limit, int count, String after, String before) {
+        this.source = source;
+        this.listingType = listingType;
+        this.username = username;
+        this.limit = limit;
+        this.count = count;
+        this.after = after;
+        this.before = before;
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * Writes this cursor as JSON to the given file.
+     * <p>
+     * The cursor is first written to a temporary file in the same directory which then replaces the given one,
+     * atomically if the file system supports it, so that a crash while saving never leaves a truncated cursor.
+     */
+    public void save(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, toJson(this));
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a cursor from the given JSON file, see {@link #save(Path)}.
+     *
+     * @return the cursor or null if the file is empty
+     */
+    public static ListingCursor load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return fromJson(reader, ListingCursor.class);
+        }
+    }
+
+    /**
+     * @return whether the given cursor points to the same listing of this one, so source,
+     * listing type and username are the same. The position is not compared.
+     */
+    public boolean sameListing(ListingCursor other) {
+        return other != null &&
+                source == other.source &&
+                Objects.equals(listingType, other.listingType) &&
+                Objects.equals(username, other.username);
+    }
+
+    /**
+     * @return the listing type as a constant of the given enum
+     * @throws IllegalArgumentException if the listing type is null or not a constant of the given enum
+     */
+    public <E extends Enum<E>> E getListingType(Class<E> enumType) {
+        if (listingType == null) {
+            throw new IllegalArgumentException("This cursor has no listing type: " + this);
+        }
+        return Enum.valueOf(enumType, listingType);
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+    public Source getSource() {
+        return source;
+    }
+
+    public String getListingType() {
+        return listingType;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public String getBefore() {
+        return before;
+    }
+
+    @Override
+    public String toString() {
+        return "ListingCursor{" +
+                "source=" + source +
+                ", listingType='" + listingType + '\'' +
+                ", username='" + username + '\'' +
+                ", limit=" + limit +
+                ", count=" + count +
+                ", after='" + after + '\'' +
+                ", before='" + before + '\'' +
+                '}';
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * The kinds of {@link ListingRequestBuilder} that can produce a cursor.
+     */
+    public enum Source {
+        COMMENT_LIST,
+        OVERVIEW,
+        POST_LIST,
+        USER_LIST
+    }
+}
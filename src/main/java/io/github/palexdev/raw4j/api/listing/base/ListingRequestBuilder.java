@@ -19,15 +19,20 @@
 package io.github.palexdev.raw4j.api.listing.base;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
 import io.github.palexdev.raw4j.data.base.Listing;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
 import io.github.palexdev.raw4j.utils.iterators.ListingIterator;
 import io.github.palexdev.raw4j.utils.stream.ListingStreamSupport;
+import okhttp3.HttpUrl;
 
+import java.lang.reflect.Type;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
-import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
-
 /**
  * Listings can represent up to 100 items at a time, but they specify two
  * string properties ('after' and 'before') that allow navigation between listings.
@@ -44,9 +49,15 @@ import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
  * <p> - get(): to get the "first page" (listing)
  * <p> - next(T listing): to get the "next page" (listing) starting from the given listing
  * <p> - previous(T listing): to get the "previous page" (listing) starting from the given listing
+ * <p>
+ * Each of these methods also has an asynchronous counterpart (getAsync(), nextAsync(T listing), previousAsync(T listing))
+ * which doesn't block the caller thread, see {@link OAuthFlow#getAsync(String)}.
  * <p></p>
  * The class implements {@link Iterable} making navigation through listings even easier by using an iterator, see
  * {@link ListingIterator}, and it supports {@link Stream}s too, see {@link ListingStreamSupport}.
+ * <p></p>
+ * The position of the builder can be captured in a {@link ListingCursor}, see {@link #cursor(Listing)}, which can be
+ * persisted and later used to resume the navigation, see {@link #iterator(ListingCursor)}.
  *
  * @param <T> the type of {@link Listing}
  */
@@ -55,8 +66,9 @@ public abstract class ListingRequestBuilder<T extends Listing> implements Iterab
     // Properties
     //================================================================================
     protected final OAuthFlow authManager;
-    protected int count;
+    private final AtomicInteger count = new AtomicInteger();
     protected int limit = 25;
+    private volatile HttpUrl template;
 
     //================================================================================
     // Constructors
@@ -77,7 +89,7 @@ public abstract class ListingRequestBuilder<T extends Listing> implements Iterab
     /**
      * Must return the exact type of {@link Listing}.
      * <p>
-     * This is needed by Gson for {@link Gson#fromJson(String, Class)}.
+     * This is needed by Gson for {@link Gson#fromJson(JsonReader, Type)}.
      *
      * @return the listing class
      */
@@ -85,81 +97,287 @@ public abstract class ListingRequestBuilder<T extends Listing> implements Iterab
 
     /**
      * The implementation of this method should produce a correct URL
-     * for the request to the Reddit API.
+     * for the request to the Reddit API, without the paging parameters.
+     * <p>
+     * This is called only once, the URL is then used as a template to which the paging
+     * parameters are added, see {@link #getTemplate()}.
      */
-    protected abstract String buildRequestURL(String parameters);
+    protected abstract HttpUrl buildRequestURL();
 
     /**
-     * Updates the number of items fetched.
+     * Updates the number of items fetched, see {@link #addCount(int)}.
      */
     protected abstract void updateCount(T listing);
 
+    /**
+     * Must return a {@link ListingCursor} that identifies this builder's listing (source, listing type and username)
+     * with the current limit and the given count, 'after' and 'before' properties.
+     */
+    protected abstract ListingCursor createCursor(int count, String after, String before);
+
     //================================================================================
     // Methods
     //================================================================================
 
+    /**
+     * Ensures that the given listing can be used by this builder to navigate, called by
+     * {@link #next(Listing)} and {@link #previous(Listing)} and their async counterparts.
+     * <p>
+     * By default, does nothing, builders that work on a specific type of listing should override this.
+     *
+     * @throws IllegalArgumentException if the given listing cannot be handled by this builder
+     */
+    protected void checkTypes(T listing) {}
+
+    /**
+     * Ensures that the given cursor has been produced by a builder for the same listing of this one,
+     * see {@link ListingCursor#sameListing(ListingCursor)}.
+     *
+     * @throws IllegalArgumentException if the cursor cannot be handled by this builder
+     */
+    protected void checkCursor(ListingCursor cursor) {
+        ListingCursor own = createCursor(getCount(), null, null);
+        if (!own.sameListing(cursor)) {
+            throw new IllegalArgumentException(
+                    "This builder can work only on cursors for: " + own + ", your cursor was: " + cursor
+            );
+        }
+    }
+
+    /**
+     * Called every time a listing has been fetched, before returning it.
+     * <p>
+     * By default, this updates the count property, {@link #updateCount(Listing)}. Sub-classes
+     * can override this to set properties that are not coming from Reddit but rather on the RAW4J side.
+     */
+    protected T process(T listing) {
+        updateCount(listing);
+        return listing;
+    }
+
+    /**
+     * @return the request URL built by {@link #buildRequestURL()}, the URL is built the first time
+     * this is called and then reused for all the requests
+     */
+    protected HttpUrl getTemplate() {
+        HttpUrl url = template;
+        if (url == null) {
+            url = buildRequestURL();
+            template = url;
+        }
+        return url;
+    }
+
     /**
      * Builds the request URL and returns a {@link Listing} of type {@link T}.
      * <p></p>
-     * Invokes protected method {@link #get(String)}.
+     * Invokes protected method {@link #get(HttpUrl)}.
      */
     public T get() {
-        String url = buildRequestURL("");
-        return get(url);
+        return get(getTemplate());
+    }
+
+    /**
+     * Asynchronous version of {@link #get()}.
+     */
+    public CompletableFuture<T> getAsync() {
+        return getAsync(getTemplate());
     }
 
     /**
      * Tells the auth manager to send a request with the given URL and retrieve a {@link Listing} object.
+     * The listing is bound directly from the response body, see {@link OAuthFlow#get(HttpUrl, Type)}.
      * <p>
-     * Once it is fetched the count property is updated, {@link #getCount()}.
+     * Once it is fetched the listing is processed, {@link #process(Listing)}.
      *
      * @return a new {@link Listing} of type {@link T}
      */
-    protected T get(String url) {
-        T listing = fromJson(authManager.get(url), getType());
-        updateCount(listing);
-        return listing;
+    protected T get(HttpUrl url) {
+        return process(authManager.get(url, getType()));
+    }
+
+    /**
+     * Asynchronous version of {@link #get(HttpUrl)}, see {@link OAuthFlow#getAsync(HttpUrl, Type)}.
+     * <p>
+     * Cancelling the returned future also cancels the request, in that case the listing is not processed.
+     */
+    protected CompletableFuture<T> getAsync(HttpUrl url) {
+        CompletableFuture<T> request = authManager.getAsync(url, getType());
+        CompletableFuture<T> result = request.thenApply(this::process);
+        result.whenComplete((listing, ex) -> {
+            if (ex instanceof CancellationException) {
+                request.cancel(true);
+            }
+        });
+        return result;
     }
 
     /**
-     * Makes a request to the Reddit API by calling {@link #get(String)}, to fetch the next listing from the
+     * Makes a request to the Reddit API by calling {@link #get(HttpUrl)}, to fetch the next listing from the
      * given one. The parameters include the {@link Listing#getAfter()} string, the limit of items to fetch and the
      * count of items fetched till now.
      *
      * @return the next listing or null if the 'after' property of the given listing is null
      */
     public T next(T listing) {
-        if (listing.getAfter() == null) {
-            return null;
-        }
+        HttpUrl url = nextURL(listing);
+        return url != null ? get(url) : null;
+    }
 
-        String parameters = String.format("&after=%s&limit=%d&count=%d", listing.getAfter(), limit, count);
-        String url = buildRequestURL(parameters);
-        return get(url);
+    /**
+     * Asynchronous version of {@link #next(Listing)}.
+     *
+     * @return a future completed with the next listing or with null if the 'after' property of the given listing is null
+     */
+    public CompletableFuture<T> nextAsync(T listing) {
+        HttpUrl url = nextURL(listing);
+        return url != null ? getAsync(url) : CompletableFuture.completedFuture(null);
     }
 
     /**
-     * Makes a request to the Reddit API by calling {@link #get(String)}, to fetch the previous listing from the
+     * Makes a request to the Reddit API by calling {@link #get(HttpUrl)}, to fetch the previous listing from the
      * given one. The parameters include the {@link Listing#getBefore()} string, the limit of items to fetch and the
      * count of items fetched till now.
      *
      * @return the previous listing or null if the 'before' property of the given listing is null
      */
     public T previous(T listing) {
-        if (listing.getBefore() == null) {
+        HttpUrl url = previousURL(listing);
+        return url != null ? get(url) : null;
+    }
+
+    /**
+     * Asynchronous version of {@link #previous(Listing)}.
+     *
+     * @return a future completed with the previous listing or with null if the 'before' property of the given listing is null
+     */
+    public CompletableFuture<T> previousAsync(T listing) {
+        HttpUrl url = previousURL(listing);
+        return url != null ? getAsync(url) : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Same as {@link #next(Listing)} but starts from the 'after' property of the given cursor,
+     * used to resume the navigation, see {@link #iterator(ListingCursor)}.
+     *
+     * @return the next listing or null if the 'after' property of the given cursor is null
+     * @throws IllegalArgumentException if the cursor cannot be handled by this builder
+     */
+    public T next(ListingCursor cursor) {
+        checkCursor(cursor);
+        HttpUrl url = pageURL("after", cursor.getAfter());
+        return url != null ? get(url) : null;
+    }
+
+    /**
+     * Asynchronous version of {@link #next(ListingCursor)}.
+     */
+    public CompletableFuture<T> nextAsync(ListingCursor cursor) {
+        checkCursor(cursor);
+        HttpUrl url = pageURL("after", cursor.getAfter());
+        return url != null ? getAsync(url) : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Same as {@link #previous(Listing)} but starts from the 'before' property of the given cursor.
+     *
+     * @return the previous listing or null if the 'before' property of the given cursor is null
+     * @throws IllegalArgumentException if the cursor cannot be handled by this builder
+     */
+    public T previous(ListingCursor cursor) {
+        checkCursor(cursor);
+        HttpUrl url = pageURL("before", cursor.getBefore());
+        return url != null ? get(url) : null;
+    }
+
+    /**
+     * Checks the given listing and builds the URL to fetch the next listing.
+     *
+     * @return the URL or null if the 'after' property of the given listing is null
+     */
+    private HttpUrl nextURL(T listing) {
+        checkTypes(listing);
+        return pageURL("after", listing.getAfter());
+    }
+
+    /**
+     * Checks the given listing and builds the URL to fetch the previous listing.
+     *
+     * @return the URL or null if the 'before' property of the given listing is null
+     */
+    private HttpUrl previousURL(T listing) {
+        checkTypes(listing);
+        return pageURL("before", listing.getBefore());
+    }
+
+    /**
+     * Adds the given anchor ('after' or 'before'), the limit and the count parameters to the template URL,
+     * see {@link #getTemplate()}.
+     *
+     * @return the URL or null if the given fullname is null
+     */
+    private HttpUrl pageURL(String anchor, String fullname) {
+        if (fullname == null) {
             return null;
         }
+        return getTemplate().newBuilder()
+                .addQueryParameter(anchor, fullname)
+                .addQueryParameter("limit", Integer.toString(limit))
+                .addQueryParameter("count", Integer.toString(getCount()))
+                .build();
+    }
 
-        String parameters = String.format("&before=%s&limit=%d&count=%d", listing.getBefore(), limit, count);
-        String url = buildRequestURL(parameters);
-        return get(url);
+    /**
+     * @return a {@link ListingCursor} that captures the position of this builder right after the given listing,
+     * so with the given listing's 'after' and 'before' properties and the current limit and count
+     * @throws IllegalArgumentException if the given listing cannot be handled by this builder
+     */
+    public ListingCursor cursor(T listing) {
+        return cursor(listing, getCount());
+    }
+
+    /**
+     * Same as {@link #cursor(Listing)} but with the given count instead of the current one, used by
+     * {@link ListingIterator} which only counts the items of the listings it has handed out.
+     *
+     * @throws IllegalArgumentException if the given listing cannot be handled by this builder
+     */
+    public ListingCursor cursor(T listing, int count) {
+        checkTypes(listing);
+        return createCursor(count, listing.getAfter(), listing.getBefore());
     }
 
     /**
      * @return the number of fetched items
      */
     public int getCount() {
-        return count;
+        return count.get();
+    }
+
+    /**
+     * Sets the number of fetched items, used as the 'count' parameter of the next requests.
+     */
+    public ListingRequestBuilder<T> setCount(int count) {
+        this.count.set(count);
+        return this;
+    }
+
+    /**
+     * Adds the given number of items to the count.
+     * <p>
+     * The count is updated by the threads that process the listings, see {@link #getAsync(HttpUrl)},
+     * and read by the consumer, so it's atomic.
+     */
+    protected void addCount(int items) {
+        count.addAndGet(items);
+    }
+
+    /**
+     * @return the {@link Executor} of the client, used by {@link ListingIterator} to prefetch listings,
+     * see {@link OAuthFlow#getExecutor()}
+     */
+    public Executor getExecutor() {
+        return authManager.getExecutor();
     }
 
     /**
@@ -169,4 +387,18 @@ public abstract class ListingRequestBuilder<T extends Listing> implements Iterab
     public ListingIterator<T> iterator() {
         return new ListingIterator<>(this);
     }
+
+    /**
+     * Restores the limit and count of this builder from the given cursor.
+     *
+     * @return a new instance of {@link ListingIterator} that resumes the navigation from the given cursor,
+     * see {@link ListingIterator#ListingIterator(ListingCursor, ListingRequestBuilder)}
+     * @throws IllegalArgumentException if the cursor cannot be handled by this builder
+     */
+    public ListingIterator<T> iterator(ListingCursor cursor) {
+        checkCursor(cursor);
+        setLimit(cursor.getLimit());
+        setCount(cursor.getCount());
+        return new ListingIterator<>(cursor, this);
+    }
 }
@@ -18,7 +18,9 @@
 
 package io.github.palexdev.raw4j.data;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
+import io.github.palexdev.raw4j.json.adapters.TimestampAdapter;
 
 import java.util.List;
 
@@ -37,11 +39,13 @@ public class Collection {
     private String collectionID;
 
     @SerializedName("created_at_utc")
+    @JsonAdapter(TimestampAdapter.class)
     private Long createdTime;
 
     private String description;
 
     @SerializedName("last_update_utc")
+    @JsonAdapter(TimestampAdapter.class)
     private Long lastUpdateTime;
 
     @SerializedName("link_ids")
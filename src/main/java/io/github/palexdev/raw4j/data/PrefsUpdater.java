@@ -18,7 +18,6 @@
 
 package io.github.palexdev.raw4j.data;
 
-import com.google.gson.JsonObject;
 import io.github.palexdev.raw4j.enums.PrefsEnumerators.*;
 import io.github.palexdev.raw4j.enums.endpoints.AccountEndpoints;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
@@ -28,7 +27,7 @@ import okhttp3.RequestBody;
 import java.util.Locale;
 
 import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
-import static io.github.palexdev.raw4j.json.GsonInstance.toJsonTree;
+import static io.github.palexdev.raw4j.json.GsonInstance.toJson;
 
 /**
  * This class is a helper to update the logged user preferences. Helps to create a PATCH request.
@@ -59,11 +58,17 @@ public class PrefsUpdater {
 
     /**
      * Calls {@link #generateJson()} and then sends the request.
+     * <p></p>
+     * Cached preferences, if any, are invalidated.
      */
     public Prefs patch() {
         String json = generateJson();
         RequestBody requestBody = RequestBody.create(json, MediaType.parse("application/json; charset=utf-8"));
-        return fromJson(authManager.patch(AccountEndpoints.ME_PREFS.getFullEndpoint(), requestBody), Prefs.class);
+        Prefs patched = fromJson(authManager.patch(AccountEndpoints.ME_PREFS.getFullEndpoint(authManager.getApiBaseURL()), requestBody), Prefs.class);
+        if (authManager.getResponseCache() != null) {
+            authManager.getResponseCache().invalidate(AccountEndpoints.ME_PREFS);
+        }
+        return patched;
     }
 
     /**
@@ -73,11 +78,11 @@ public class PrefsUpdater {
      * @throws IllegalStateException if no preferences were set, in other words if the generated JSON is empty
      */
     private String generateJson() {
-        JsonObject json = (JsonObject) toJsonTree(prefs);
-        if (json.size() == 0) {
+        String json = toJson(prefs);
+        if (json.equals("{}")) {
             throw new IllegalStateException("Cannot update preferences since no prefs have been changed!");
         }
-        return json.toString();
+        return json;
     }
 
     //================================================================================
@@ -66,6 +66,9 @@ public class User extends AbstractThing {
     @SerializedName("is_mod")
     private boolean mod;
 
+    @SerializedName("is_suspended")
+    private boolean suspended;
+
     @SerializedName("link_karma")
     private int linkKarma;
 
@@ -153,6 +156,13 @@ public class User extends AbstractThing {
         return mod;
     }
 
+    /**
+     * @return whether the user's account is suspended. Suspended accounts only have the name and this property
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
     /**
      * @return the user's link karma
      */
@@ -18,6 +18,8 @@
 
 package io.github.palexdev.raw4j.enums.endpoints;
 
+import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
+
 /**
  * Interface that all endpoints enumerators must implement.
  */
@@ -32,7 +34,7 @@ public interface Endpoints {
      * @return the complete endpoint URL by prepending {@link URLEnum#OAUTH_API_BASE_URL}
      */
     default String getFullEndpoint() {
-        return URLEnum.OAUTH_API_BASE_URL + getEndpoint();
+        return getFullEndpoint(URLEnum.OAUTH_API_BASE_URL.toString());
     }
 
     /**
@@ -41,4 +43,18 @@ public interface Endpoints {
     default String getFullEndpointRaw() {
         return getFullEndpoint() + "?raw_json=1";
     }
+
+    /**
+     * @return the complete endpoint URL by prepending the given base URL, see {@link OAuthFlow#getApiBaseURL()}
+     */
+    default String getFullEndpoint(String baseURL) {
+        return baseURL + getEndpoint();
+    }
+
+    /**
+     * @return the complete endpoint URL by prepending the given base URL and adds '?raw_json=1' to the URL parameters
+     */
+    default String getFullEndpointRaw(String baseURL) {
+        return getFullEndpoint(baseURL) + "?raw_json=1";
+    }
 }
@@ -20,6 +20,9 @@ package io.github.palexdev.raw4j.enums.endpoints;
 
 /**
  * Enumeration for all the Reddit OAuth URLs.
+ * <p></p>
+ * Each URL can be overridden with a system property, see {@link #getPropertyKey()}, for example to point
+ * the clients to a local server for tests and benchmarks.
  */
 public enum URLEnum {
 
@@ -49,6 +52,11 @@ public enum URLEnum {
     REVOKE_TOKEN_URL("https://www.reddit.com/api/v1/revoke_token")
     ;
 
+    /**
+     * The prefix of the system properties which override the URLs, see {@link #getPropertyKey()}.
+     */
+    public static final String PROPERTY_PREFIX = "raw4j.url.";
+
     private final String url;
 
     URLEnum(String url) {
@@ -56,10 +64,25 @@ public enum URLEnum {
     }
 
     /**
-     * Overridden to return the URL String.
+     * @return the name of the system property which overrides this URL, e.g. "raw4j.url.OAUTH_API_BASE_URL"
+     */
+    public String getPropertyKey() {
+        return PROPERTY_PREFIX + name();
+    }
+
+    /**
+     * @return the Reddit URL, ignoring the system property
+     */
+    public String getDefaultURL() {
+        return url;
+    }
+
+    /**
+     * Overridden to return the URL String, which is the value of the system property specified by
+     * {@link #getPropertyKey()} if set, otherwise the default URL.
      */
     @Override
     public String toString() {
-        return url;
+        return System.getProperty(getPropertyKey(), url);
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.exception;
+
+import java.io.IOException;
+
+/**
+ * Signals that an HTTP request completed with a non-successful status code,
+ * the response body is not bound in such case.
+ */
+public class HttpStatusException extends IOException {
+    private final int code;
+    private final String url;
+
+    public HttpStatusException(int code, String url) {
+        super("HTTP " + code + " for: [" + url + "]");
+        this.code = code;
+        this.url = url;
+    }
+
+    /**
+     * @return the status code of the response
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * @return the URL of the request
+     */
+    public String getUrl() {
+        return url;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.http;
+
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
+import io.github.palexdev.raw4j.utils.EndpointUtils;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which {@link Endpoints} can be stored in the on-disk HTTP cache and for how long.
+ * <p></p>
+ * Reddit marks all its responses as not cacheable, so this is a network {@link Interceptor} that rewrites the
+ * "Cache-Control" header of successful GET responses of the cacheable endpoints to "private, max-age=...",
+ * allowing OkHttp's {@link okhttp3.Cache} to store them and serve them without hitting the network, even after
+ * a restart.
+ * <p>
+ * Endpoints are matched by their path relative to the API base URL, see {@link EndpointUtils#pattern(Endpoints)}
+ * and {@link #forBasePath(String)}.
+ * <p></p>
+ * Note that responses are cached by URL, so the cache directory should not be shared by clients logged in with
+ * different accounts if endpoints of the logged user (like '/api/v1/me') are cached.
+ * <p>
+ * {@link #withDefaults()} builds a policy that only caches public user data: users info and trophies.
+ */
+public class DiskCachePolicy implements Interceptor {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final Map<Endpoints, Rule> rules;
+    private final String basePath;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public DiskCachePolicy() {
+        this(new ConcurrentHashMap<>(), "");
+    }
+
+    private DiskCachePolicy(Map<Endpoints, Rule> rules, String basePath) {
+        this.rules = rules;
+        this.basePath = basePath;
+    }
+
+    /**
+     * Builds a new policy with these max ages:
+     * <p> - {@link UserEndpoints#ABOUT}: 1 hour
+     * <p> - {@link UserEndpoints#TROPHIES}: 1 day
+     */
+    public static DiskCachePolicy withDefaults() {
+        return new DiskCachePolicy()
+                .setMaxAge(UserEndpoints.ABOUT, Duration.ofHours(1))
+                .setMaxAge(UserEndpoints.TROPHIES, Duration.ofDays(1));
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * @return a view of this policy (which shares its max ages) that matches the URLs relative to the given
+     * base path, used by the OAuth flows when the API base URL has a path, like a proxy prefix
+     */
+    public DiskCachePolicy forBasePath(String basePath) {
+        return new DiskCachePolicy(rules, basePath);
+    }
+
+    /**
+     * Sets for how long responses of the given endpoint can be served from the disk cache.
+     * A zero or negative duration disables caching for the endpoint.
+     */
+    public DiskCachePolicy setMaxAge(Endpoints endpoint, Duration maxAge) {
+        if (maxAge.isZero() || maxAge.isNegative()) {
+            rules.remove(endpoint);
+        } else {
+            rules.put(endpoint, new Rule(EndpointUtils.pattern(endpoint), maxAge.toSeconds()));
+        }
+        return this;
+    }
+
+    /**
+     * @return the max age of the responses of the given endpoint, {@link Duration#ZERO} if not cacheable
+     */
+    public Duration getMaxAge(Endpoints endpoint) {
+        Rule rule = rules.get(endpoint);
+        return rule != null ? Duration.ofSeconds(rule.maxAge()) : Duration.ZERO;
+    }
+
+    /**
+     * @return the max age for the given URL, {@link Duration#ZERO} if it doesn't match any of the cacheable endpoints
+     */
+    public Duration getMaxAge(HttpUrl url) {
+        String path = EndpointUtils.relativePath(url, basePath);
+        if (path == null) {
+            return Duration.ZERO;
+        }
+        return rules.values().stream()
+                .filter(rule -> rule.pattern().matcher(path).matches())
+                .findFirst()
+                .map(rule -> Duration.ofSeconds(rule.maxAge()))
+                .orElse(Duration.ZERO);
+    }
+
+    //================================================================================
+    // Override Methods
+    //================================================================================
+
+    /**
+     * Rewrites the caching headers of successful GET responses of the cacheable endpoints.
+     */
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        if (!chain.request().method().equals("GET") || response.code() != 200) {
+            return response;
+        }
+
+        Duration maxAge = getMaxAge(chain.request().url());
+        if (maxAge.isZero()) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .header("Cache-Control", "private, max-age=" + maxAge.toSeconds())
+                .build();
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+    private record Rule(Pattern pattern, long maxAge) {}
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.http;
+
+import io.github.palexdev.raw4j.utils.ExecutorUtils;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket that paces the requests of a client according to the rate limit headers
+ * sent by Reddit: {@value #REMAINING_HEADER}, {@value #USED_HEADER} and {@value #RESET_HEADER}.
+ * <p></p>
+ * After every response the state is updated with {@link #update(Headers)}, the bucket is refilled
+ * at a rate that spreads the remaining budget evenly over the time left before the reset.
+ * Before every request {@link #acquire()} takes a token, if none is available the caller is blocked until
+ * one is. Up to {@link #getBurst()} requests can be sent without waiting.
+ * <p>
+ * Tokens are always reserved under the lock, so the bucket can go into debt: every caller waits for its own
+ * token and callers are spread out over time instead of being released all together.
+ * If the budget has been exhausted the bucket is emptied and starts refilling only at the reset time.
+ * <p></p>
+ * Asynchronous callers should not wait inside OkHttp's dispatcher threads, {@link #acquireAsync()} returns
+ * a {@link Permit} once the token is available, the request carrying it as a tag is not delayed again
+ * by {@link #intercept(Chain)}.
+ * <p></p>
+ * Until the first response is received (or after the reset time has passed) the budget is unknown,
+ * so requests are not delayed.
+ * <p></p>
+ * This is also an {@link Interceptor}, so it can be added directly to an OkHttpClient.
+ */
+public class RateLimiter implements Interceptor {
+    //================================================================================
+    // Properties
+    //================================================================================
+    public static final String REMAINING_HEADER = "X-Ratelimit-Remaining";
+    public static final String USED_HEADER = "X-Ratelimit-Used";
+    public static final String RESET_HEADER = "X-Ratelimit-Reset";
+    public static final int DEFAULT_BURST = 10;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final int burst;
+
+    private boolean known;
+    private double remaining = -1;
+    private int used = -1;
+    private long resetTime;
+    private double tokens;
+    private double rate;
+    private long lastRefill;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public RateLimiter() {
+        this(DEFAULT_BURST);
+    }
+
+    public RateLimiter(int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be greater than 0, was: " + burst);
+        }
+        this.burst = burst;
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * Takes a token from the bucket, blocking the caller thread if none is available.
+     * <p>
+     * Waiting threads do not hold any lock, they are counted by {@link #getQueueDepth()}.
+     */
+    public void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            queueDepth.incrementAndGet();
+            try {
+                Thread.sleep(wait);
+            } finally {
+                queueDepth.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Takes a token from the bucket without blocking the caller thread.
+     * <p>
+     * The returned future is completed with a {@link Permit} by the {@link ExecutorUtils#scheduled()} executor
+     * as soon as the token is available, or immediately if no wait is needed. Callers waiting for the future
+     * are counted by {@link #getQueueDepth()}.
+     */
+    public CompletableFuture<Permit> acquireAsync() {
+        long wait = reserve();
+        if (wait <= 0) {
+            return CompletableFuture.completedFuture(new Permit());
+        }
+
+        CompletableFuture<Permit> future = new CompletableFuture<>();
+        queueDepth.incrementAndGet();
+        ExecutorUtils.scheduled().schedule(() -> {
+            queueDepth.decrementAndGet();
+            future.complete(new Permit());
+        }, wait, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    /**
+     * Reserves a token from the bucket, never blocks.
+     * <p>
+     * The token is taken even if the bucket is empty, the returned delay is the time needed
+     * to refill the debt, so each caller is assigned its own slot.
+     *
+     * @return the number of milliseconds the caller has to wait before sending the request, 0 if none
+     */
+    public long reserve() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            refill(now);
+            if (known && now >= resetTime && tokens >= 0) {
+                known = false;
+            }
+            if (!known) {
+                return 0;
+            }
+
+            tokens -= 1;
+            long wait = Math.max(0, lastRefill - now);
+            if (tokens < 0) {
+                wait += (long) Math.ceil(-tokens / rate);
+            }
+            return wait;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates the state of the limiter from the given response headers.
+     * <p>
+     * If the headers do not contain the rate limit info nothing is done.
+     */
+    public void update(Headers headers) {
+        String remainingHeader = headers.get(REMAINING_HEADER);
+        String resetHeader = headers.get(RESET_HEADER);
+        if (remainingHeader == null || resetHeader == null) {
+            return;
+        }
+
+        double remaining;
+        long reset;
+        int used;
+        try {
+            remaining = Double.parseDouble(remainingHeader);
+            reset = (long) Double.parseDouble(resetHeader);
+            String usedHeader = headers.get(USED_HEADER);
+            used = usedHeader != null ? (int) Double.parseDouble(usedHeader) : -1;
+        } catch (NumberFormatException ex) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            long window = Math.max(1, reset * 1000);
+            refill(now);
+            this.remaining = remaining;
+            this.used = used;
+            this.resetTime = now + window;
+            if (remaining < 1) {
+                // Nothing can be sent until the reset, callers already in debt keep their place
+                tokens = Math.min(tokens, 0);
+                lastRefill = resetTime;
+                if (rate <= 0) {
+                    rate = (double) Math.max(used, burst) / window;
+                }
+            } else {
+                lastRefill = Math.min(lastRefill, now);
+                rate = remaining / window;
+                if (!known) {
+                    tokens = Math.min(burst, remaining);
+                }
+                tokens = Math.min(tokens, remaining);
+            }
+            known = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the tokens accumulated since the last refill, never exceeding {@link #getBurst()}.
+     * <p>
+     * If the last refill is in the future (the budget is exhausted until the reset time) nothing is done.
+     */
+    private void refill(long now) {
+        if (now <= lastRefill) {
+            return;
+        }
+        if (known && rate > 0) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * rate);
+        }
+        lastRefill = now;
+    }
+
+    //================================================================================
+    // Override Methods
+    //================================================================================
+
+    /**
+     * Calls {@link #acquire()} before proceeding and {@link #update(Headers)} with the response headers.
+     * <p>
+     * If the request carries a {@link Permit} tag that has not been used yet, the token has already been taken
+     * with {@link #acquireAsync()} and the request proceeds immediately. Retries of the same request
+     * take a new token.
+     */
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Permit permit = chain.request().tag(Permit.class);
+        if (permit == null || !permit.consume()) {
+            try {
+                acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the rate limit");
+            }
+        }
+
+        Response response = chain.proceed(chain.request());
+        update(response.headers());
+        return response;
+    }
+
+    //================================================================================
+    // Getters
+    //================================================================================
+
+    /**
+     * @return the max number of requests that can be sent without waiting
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * @return the number of requests remaining in the current window as reported by Reddit,
+     * or -1 if still unknown
+     */
+    public double getRemaining() {
+        lock.lock();
+        try {
+            return remaining;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of requests used in the current window as reported by Reddit,
+     * or -1 if still unknown
+     */
+    public int getUsed() {
+        lock.lock();
+        try {
+            return used;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the Unix timestamp (in seconds) of when the current window resets,
+     * or 0 if still unknown
+     */
+    public long getResetTime() {
+        lock.lock();
+        try {
+            return resetTime / 1000;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of callers currently waiting for a token
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    //================================================================================
+    // Internal Classes
+    //================================================================================
+
+    /**
+     * A token taken in advance with {@link #acquireAsync()}, to be attached to a request as a tag.
+     * <p>
+     * A permit can be used only once.
+     */
+    public static final class Permit {
+        private final AtomicBoolean used = new AtomicBoolean();
+
+        private Permit() {}
+
+        /**
+         * Marks this permit as used.
+         *
+         * @return true if this permit had not been used yet
+         */
+        public boolean consume() {
+            return used.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.http;
+
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of {@link RequestListener}, keeps in memory a latency histogram for each
+ * {@link Endpoints} and phase (network, read, bind and total), along with calls, errors and bytes counts.
+ * <p></p>
+ * Histograms use power of two buckets in microseconds, so percentiles are approximated by the upper bound of the
+ * bucket they fall in (at most twice the real value). Recording is lock-free.
+ * <p>
+ * Calls to URLs which don't match any known endpoint are recorded in a separate histogram, see {@link #getOther()}.
+ * <p></p>
+ * Example:
+ * <pre>
+ * {@code
+ * RequestHistogram histogram = new RequestHistogram();
+ * redditClient.setRequestListener(histogram);
+ * ...
+ * histogram.snapshot().forEach((endpoint, summary) -> System.out.println(endpoint + ": " + summary));
+ * }
+ * </pre>
+ */
+public class RequestHistogram implements RequestListener {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final int BUCKETS = 32;
+
+    private final Map<Endpoints, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final EndpointStats other = new EndpointStats();
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * @return a summary for each endpoint called at least once, sorted by total time spent (descending),
+     * so that the hottest endpoints come first
+     */
+    public Map<Endpoints, Summary> snapshot() {
+        Map<Endpoints, Summary> snapshot = new LinkedHashMap<>();
+        stats.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().summary()))
+                .sorted(Map.Entry.<Endpoints, Summary>comparingByValue(Comparator.comparingLong(summary -> summary.total().sumNanos())).reversed())
+                .forEachOrdered(entry -> snapshot.put(entry.getKey(), entry.getValue()));
+        return snapshot;
+    }
+
+    /**
+     * @return the summary for the given endpoint, null if never called
+     */
+    public Summary getSummary(Endpoints endpoint) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        return endpointStats != null ? endpointStats.summary() : null;
+    }
+
+    /**
+     * @return the summary of the calls to URLs which don't match any known endpoint
+     */
+    public Summary getOther() {
+        return other.summary();
+    }
+
+    /**
+     * Clears all the recorded data.
+     */
+    public void reset() {
+        stats.clear();
+        other.reset();
+    }
+
+    //================================================================================
+    // Override Methods
+    //================================================================================
+    @Override
+    public void onRequest(RequestMetrics metrics) {
+        EndpointStats endpointStats = metrics.endpoint() != null ?
+                stats.computeIfAbsent(metrics.endpoint(), endpoint -> new EndpointStats()) :
+                other;
+        endpointStats.record(metrics);
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * Summary of the calls to an endpoint.
+     *
+     * @param calls   the number of calls
+     * @param errors  the number of failed calls, see {@link RequestMetrics#isError()}
+     * @param cached  the number of calls served by the disk cache
+     * @param bytes   the total bytes read
+     * @param network the network phase stats
+     * @param read    the read phase stats
+     * @param bind    the bind phase stats
+     * @param total   the whole call stats
+     */
+    public record Summary(long calls, long errors, long cached, long bytes, Phase network, Phase read, Phase bind, Phase total) {}
+
+    /**
+     * Latency stats of a phase.
+     *
+     * @param sumNanos the total time spent in this phase
+     * @param p50      the approximated median
+     * @param p90      the approximated 90th percentile
+     * @param p99      the approximated 99th percentile
+     * @param max      the max recorded value
+     */
+    public record Phase(long sumNanos, Duration p50, Duration p90, Duration p99, Duration max) {
+
+        /**
+         * @return the average time spent in this phase for the given number of calls
+         */
+        public Duration mean(long calls) {
+            return calls == 0 ? Duration.ZERO : Duration.ofNanos(sumNanos / calls);
+        }
+    }
+
+    private static class EndpointStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder cached = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final Histogram network = new Histogram();
+        private final Histogram read = new Histogram();
+        private final Histogram bind = new Histogram();
+        private final Histogram total = new Histogram();
+
+        void record(RequestMetrics metrics) {
+            calls.increment();
+            if (metrics.isError()) errors.increment();
+            if (metrics.cached()) cached.increment();
+            if (metrics.bytes() > 0) bytes.add(metrics.bytes());
+            network.record(metrics.networkNanos());
+            read.record(metrics.readNanos());
+            bind.record(metrics.bindNanos());
+            total.record(metrics.totalNanos());
+        }
+
+        Summary summary() {
+            return new Summary(
+                    calls.sum(), errors.sum(), cached.sum(), bytes.sum(),
+                    network.phase(), read.phase(), bind.phase(), total.phase()
+            );
+        }
+
+        void reset() {
+            calls.reset();
+            errors.reset();
+            cached.reset();
+            bytes.reset();
+            network.reset();
+            read.reset();
+            bind.reset();
+            total.reset();
+        }
+    }
+
+    /**
+     * Power of two histogram, bucket i counts values in [2^(i-1), 2^i) microseconds, bucket 0 values under 1 microsecond.
+     */
+    private static class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            long micros = Math.max(0, nanos) / 1000;
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            counts.incrementAndGet(bucket);
+            sum.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+
+        Phase phase() {
+            long maxNanos = max.get();
+            long[] snapshot = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                count += snapshot[i];
+            }
+            return new Phase(
+                    sum.sum(),
+                    percentile(snapshot, count, maxNanos, 0.50),
+                    percentile(snapshot, count, maxNanos, 0.90),
+                    percentile(snapshot, count, maxNanos, 0.99),
+                    Duration.ofNanos(maxNanos)
+            );
+        }
+
+        private Duration percentile(long[] snapshot, long count, long maxNanos, double percentile) {
+            if (count == 0) {
+                return Duration.ZERO;
+            }
+
+            long rank = (long) Math.ceil(count * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Duration.ofNanos(Math.min((1L << i) * 1000, maxNanos));
+                }
+            }
+            return Duration.ofNanos(maxNanos);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            sum.reset();
+            max.set(0);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.http;
+
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+import io.github.palexdev.raw4j.oauth.OAuthParameters;
+
+/**
+ * Service provider interface to observe the calls made by the OAuth flows, for metrics or tracing.
+ * <p></p>
+ * After every call the listener receives a {@link RequestMetrics} with the {@link Endpoints} of the call (if known),
+ * the response code, the payload size and the time spent in each phase:
+ * <p> - network: from the request being sent to the response headers being received (including retries)
+ * <p> - read: reading the whole response body
+ * <p> - bind: converting the body to the requested type (0 for calls whose body is just read as a String)
+ * <p></p>
+ * <b>Note</b> that to separate the read phase from the bind phase, when a listener is set the response bodies are
+ * read in memory before being converted, instead of being streamed.
+ * <p>
+ * The listener is called on the thread that executed the call (for asynchronous calls one of OkHttp's threads),
+ * so it should return quickly. Exceptions thrown by the listener are logged and ignored.
+ * <p></p>
+ * A listener can be set through {@link OAuthParameters} or on the client. See {@link RequestHistogram}
+ * for the default implementation.
+ */
+@FunctionalInterface
+public interface RequestListener {
+
+    /**
+     * Called after a call completed, either successfully or with an error.
+     */
+    void onRequest(RequestMetrics metrics);
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.http;
+
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+
+/**
+ * Metrics of a single call, reported to the {@link RequestListener}.
+ *
+ * @param endpoint     the called endpoint, null if the URL doesn't match any known endpoint
+ * @param method       the HTTP method
+ * @param url          the requested URL
+ * @param code         the response code, -1 if the call failed before receiving a response
+ * @param cached       whether the response was served by the disk cache
+ * @param bytes        the size of the response body in bytes, -1 if not read
+ * @param networkNanos the time spent waiting for the response
+ * @param readNanos    the time spent reading the response body
+ * @param bindNanos    the time spent converting the response body
+ * @param error        the exception which made the call fail, null if successful
+ */
+public record RequestMetrics(Endpoints endpoint, String method, String url, int code, boolean cached, long bytes,
+                             long networkNanos, long readNanos, long bindNanos, Throwable error) {
+
+    /**
+     * @return the total time of the call
+     */
+    public long totalNanos() {
+        return networkNanos + readNanos + bindNanos;
+    }
+
+    /**
+     * @return whether the call failed with an exception or an error response code
+     */
+    public boolean isError() {
+        return error != null || code < 200 || code >= 400;
+    }
+}
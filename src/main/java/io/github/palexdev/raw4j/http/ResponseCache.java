@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.http;
+
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+import io.github.palexdev.raw4j.oauth.OAuthParameters;
+
+import java.lang.reflect.Type;
+
+/**
+ * Public API for caches of parsed GET responses, used by the OAuth flows when a request is made
+ * for a known endpoint, see {@link io.github.palexdev.raw4j.oauth.base.OAuthFlow#get(Endpoints, String, Type)}.
+ * <p></p>
+ * Responses are cached as the objects they have been bound to, so they are shared between all the callers that
+ * request the same URL: they should be treated as read-only.
+ * <p>
+ * A cache can be set through {@link OAuthParameters}, by default there's none. See {@link TTLResponseCache}
+ * for the default implementation.
+ * <p></p>
+ * When conditional requests are enabled ({@link OAuthParameters#isConditionalRequests()}), expired responses
+ * which carry validators (ETag and/or Last-Modified) are revalidated with the server rather than being fetched again.
+ * On a "304 Not Modified" the stored object is reused as is, without parsing anything. The methods needed for this
+ * have default implementations which disable revalidation.
+ */
+public interface ResponseCache {
+
+    /**
+     * @return whether responses of the given endpoint can be cached
+     */
+    boolean isCacheable(Endpoints endpoint);
+
+    /**
+     * @return the cached response for the given URL and type, null if not present or expired
+     */
+    <T> T get(String url, Type type);
+
+    /**
+     * Caches the response of the given endpoint, for the given URL and type.
+     */
+    void put(Endpoints endpoint, String url, Type type, Object value);
+
+    /**
+     * Caches the response of the given endpoint, for the given URL and type, along with the validators
+     * sent by the server which allow to revalidate the response once it expires.
+     * <p>
+     * By default, validators are ignored.
+     *
+     * @param eTag         the value of the "ETag" header, may be null
+     * @param lastModified the value of the "Last-Modified" header, may be null
+     */
+    default void put(Endpoints endpoint, String url, Type type, Object value, String eTag, String lastModified) {
+        put(endpoint, url, type, value);
+    }
+
+    /**
+     * @return the cached response for the given URL and type along with its validators, even if expired.
+     * Null if not present or if it cannot be revalidated (no validators). By default, always null
+     */
+    default <T> Stale<T> getStale(String url, Type type) {
+        return null;
+    }
+
+    /**
+     * Called when the server confirmed that the response for the given URL and type has not changed,
+     * the entry's expire time should be renewed.
+     * <p>
+     * By default, does nothing.
+     */
+    default void revalidated(String url, Type type) {}
+
+    /**
+     * Removes all the cached responses of the given endpoint.
+     */
+    void invalidate(Endpoints endpoint);
+
+    /**
+     * Removes all the cached responses.
+     */
+    void clear();
+
+    /**
+     * @return the cache's statistics
+     */
+    Stats getStats();
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * A cached response which may be expired, along with its validators.
+     *
+     * @param value        the cached object
+     * @param eTag         the value of the "ETag" header, may be null
+     * @param lastModified the value of the "Last-Modified" header, may be null
+     */
+    record Stale<T>(T value, String eTag, String lastModified) {}
+
+    /**
+     * Snapshot of a cache's statistics.
+     *
+     * @param hits          number of requests served from the cache
+     * @param misses        number of requests for cacheable endpoints that were not in the cache
+     * @param revalidations number of expired responses the server confirmed as not modified
+     * @param evictions     number of entries removed because the cache was full
+     * @param size          current number of entries
+     */
+    record Stats(long hits, long misses, long revalidations, long evictions, int size) {
+
+        /**
+         * @return the ratio between hits and total lookups, 0 if there were no lookups
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retries idempotent requests (GET, HEAD, PUT, DELETE, OPTIONS) which failed because of transient errors:
+ * responses with code 429 or 5xx (500, 502, 503, 504) and {@link IOException}s.
+ * <p></p>
+ * The delay before each retry grows exponentially from {@link #getBaseDelay()}, capped at {@link #getMaxDelay()},
+ * and a random part of it (see {@link #getJitter()}) spreads the retries of concurrent requests.
+ * If the response specifies a "Retry-After" header, that delay is used instead. If it's greater than the max delay
+ * the request is not retried.
+ * <p>
+ * When the attempts are exhausted the last response is returned, or the last exception is thrown.
+ * <p></p>
+ * Every retry is reported to the {@link Listener}, if set, and counted, see {@link #getRetries()}.
+ * <p></p>
+ * This is an {@link Interceptor}, so it can be added directly to an OkHttpClient. The interceptor waits before each
+ * retry on the calling thread, which is fine for synchronous calls but would block OkHttp's dispatcher threads for
+ * asynchronous ones. Requests marked with {@link #deferred(Request)} are not retried by the interceptor, the caller
+ * is expected to schedule the retries itself, see {@link #retryDelay(Request, int, Response, IOException)}.
+ */
+public class RetryPolicy implements Interceptor {
+    //================================================================================
+    // Properties
+    //================================================================================
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+    private static final Set<Integer> RETRYABLE_CODES = Set.of(429, 500, 502, 503, 504);
+    private static final Deferred DEFERRED = new Deferred();
+
+    private final AtomicLong retries = new AtomicLong();
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private Duration baseDelay = Duration.ofMillis(500);
+    private Duration maxDelay = Duration.ofSeconds(30);
+    private double jitter = 0.5;
+    private Listener listener;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public RetryPolicy() {
+    }
+
+    /**
+     * @return a policy that never retries
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy().setMaxAttempts(1);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * @return whether the given request can be safely retried
+     */
+    public boolean isRetryable(Request request) {
+        return IDEMPOTENT_METHODS.contains(request.method()) &&
+                (request.body() == null || !request.body().isOneShot());
+    }
+
+    /**
+     * @return whether the given response code is caused by a transient error
+     */
+    public boolean isRetryable(int code) {
+        return RETRYABLE_CODES.contains(code);
+    }
+
+    /**
+     * @return a copy of the given request that this interceptor won't retry, because the caller schedules
+     * the retries itself, see {@link #retryDelay(Request, int, Response, IOException)}
+     */
+    public static Request deferred(Request request) {
+        return request.newBuilder().tag(Deferred.class, DEFERRED).build();
+    }
+
+    /**
+     * @return whether the retries of the given request are scheduled by the caller, see {@link #deferred(Request)}
+     */
+    public static boolean isDeferred(Request request) {
+        return request.tag(Deferred.class) != null;
+    }
+
+    /**
+     * Decides whether the given failed attempt should be retried, and if so reports and counts the retry.
+     * <p>
+     * The interceptor uses this for synchronous calls, callers which schedule the retries themselves
+     * (see {@link #deferred(Request)}) should use this after every attempt and wait for the returned delay without
+     * blocking, then send the request again.
+     *
+     * @param request  the request of the failed attempt
+     * @param attempt  the number of the failed attempt, starting from 1
+     * @param response the response of the attempt, null if it failed with an exception
+     * @param error    the exception which made the attempt fail, null if a response was received
+     * @return the delay before the next attempt, or null if the attempt should not be retried
+     */
+    public Duration retryDelay(Request request, int attempt, Response response, IOException error) {
+        if (attempt >= maxAttempts || !isRetryable(request)) {
+            return null;
+        }
+
+        if (response == null) {
+            Duration delay = computeDelay(attempt);
+            retrying(new Attempt(request, attempt, delay, -1, error));
+            return delay;
+        }
+
+        if (!isRetryable(response.code())) {
+            return null;
+        }
+        Duration retryAfter = retryAfter(response);
+        if (retryAfter != null && retryAfter.compareTo(maxDelay) > 0) {
+            return null;
+        }
+        Duration delay = retryAfter != null ? retryAfter : computeDelay(attempt);
+        retrying(new Attempt(request, attempt, delay, response.code(), null));
+        return delay;
+    }
+
+    /**
+     * Computes the delay before the given retry (starting from 1), with exponential backoff and jitter.
+     */
+    public Duration computeDelay(int retry) {
+        long exponential = baseDelay.toMillis() << Math.min(retry - 1, 20);
+        long capped = Math.min(exponential, maxDelay.toMillis());
+        long random = (long) (capped * jitter);
+        long delay = capped - random + (random > 0 ? ThreadLocalRandom.current().nextLong(random + 1) : 0);
+        return Duration.ofMillis(delay);
+    }
+
+    /**
+     * @return the delay specified by the "Retry-After" header of the given response (in seconds or as a date),
+     * null if not present or not valid
+     */
+    protected Duration retryAfter(Response response) {
+        String header = response.header("Retry-After");
+        if (header == null) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(header.trim())));
+        } catch (NumberFormatException ex) {
+            Date date = response.headers().getDate("Retry-After");
+            return date != null ? Duration.ofMillis(Math.max(0, date.getTime() - System.currentTimeMillis())) : null;
+        }
+    }
+
+    private void sleep(Duration delay) throws InterruptedIOException {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+    //================================================================================
+    // Override Methods
+    //================================================================================
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (maxAttempts <= 1 || !isRetryable(request) || isDeferred(request)) {
+            return chain.proceed(request);
+        }
+
+        int attempt = 1;
+        while (true) {
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException ex) {
+                Duration delay = chain.call().isCanceled() ? null : retryDelay(request, attempt, null, ex);
+                if (delay == null) {
+                    throw ex;
+                }
+                sleep(delay);
+                attempt++;
+                continue;
+            }
+
+            Duration delay = retryDelay(request, attempt, response, null);
+            if (delay == null) {
+                return response;
+            }
+            response.close();
+            sleep(delay);
+            attempt++;
+        }
+    }
+
+    private void retrying(Attempt attempt) {
+        retries.incrementAndGet();
+        if (listener != null) {
+            listener.onRetry(attempt);
+        }
+    }
+
+    //================================================================================
+    // Getters, Setters
+    //================================================================================
+
+    /**
+     * @return the total number of retries performed by this policy
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * @return the max number of attempts for each request, including the first one
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public RetryPolicy setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be greater than 0, was: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * @return the delay before the first retry, doubled at each following retry
+     */
+    public Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    public RetryPolicy setBaseDelay(Duration baseDelay) {
+        this.baseDelay = baseDelay;
+        return this;
+    }
+
+    /**
+     * @return the max delay before a retry
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public RetryPolicy setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * @return the fraction of each delay which is randomized, between 0 (fixed delays) and 1 (full jitter)
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    public RetryPolicy setJitter(double jitter) {
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1, was: " + jitter);
+        }
+        this.jitter = jitter;
+        return this;
+    }
+
+    public Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the {@link Listener} notified before every retry, for metrics or logging.
+     */
+    public RetryPolicy setListener(Listener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * Info about a failed attempt which is going to be retried.
+     *
+     * @param request   the failed request
+     * @param attempt   the number of the failed attempt, starting from 1
+     * @param delay     the delay before the next attempt
+     * @param code      the response code, -1 if the attempt failed with an exception
+     * @param exception the exception, null if a response was received
+     */
+    public record Attempt(Request request, int attempt, Duration delay, int code, IOException exception) {}
+
+    /**
+     * Tag of the requests whose retries are scheduled by the caller, see {@link #deferred(Request)}.
+     */
+    private record Deferred() {}
+
+    /**
+     * Hook to monitor retries, called on the thread that executes the request.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onRetry(Attempt attempt);
+    }
+}
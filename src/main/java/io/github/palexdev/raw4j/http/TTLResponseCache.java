@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.http;
+
+import io.github.palexdev.raw4j.enums.endpoints.AccountEndpoints;
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
+import io.github.palexdev.raw4j.utils.collections.FixedSizeCacheMap;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default implementation of {@link ResponseCache}.
+ * <p></p>
+ * Each endpoint has its own time to live, specified with {@link #setTTL(Endpoints, Duration)}, only responses of
+ * endpoints with a TTL are cached. The cache is bounded, when full the least recently used entry is evicted.
+ * <p>
+ * {@link #withDefaults(int)} builds a cache with sensible TTLs for data that rarely changes
+ * (karma, prefs, trophies, users info).
+ * <p>
+ * Expired entries with validators are kept (until evicted) so that they can be revalidated,
+ * see {@link #getStale(String, Type)}.
+ * <p></p>
+ * This class is thread-safe.
+ */
+public class TTLResponseCache implements ResponseCache {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final Map<Endpoints, Long> ttls = new ConcurrentHashMap<>();
+    private final FixedSizeCacheMap<Key, Entry> cache;
+
+    private long hits;
+    private long misses;
+    private long revalidations;
+    private long evictions;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+
+    /**
+     * @param maxEntries the maximum number of responses to keep in the cache
+     */
+    public TTLResponseCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be greater than 0, was: " + maxEntries);
+        }
+        this.cache = new FixedSizeCacheMap<>(maxEntries, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                boolean remove = super.removeEldestEntry(eldest);
+                if (remove) evictions++;
+                return remove;
+            }
+        };
+    }
+
+    /**
+     * Builds a new cache with the given max size and these TTLs:
+     * <p> - {@link AccountEndpoints#ME}, {@link AccountEndpoints#ME_KARMA}, {@link AccountEndpoints#ME_PREFS}: 5 minutes
+     * <p> - {@link UserEndpoints#ABOUT}: 5 minutes
+     * <p> - {@link AccountEndpoints#ME_TROPHIES}, {@link UserEndpoints#TROPHIES}: 30 minutes
+     */
+    public static TTLResponseCache withDefaults(int maxEntries) {
+        return new TTLResponseCache(maxEntries)
+                .setTTL(AccountEndpoints.ME, Duration.ofMinutes(5))
+                .setTTL(AccountEndpoints.ME_KARMA, Duration.ofMinutes(5))
+                .setTTL(AccountEndpoints.ME_PREFS, Duration.ofMinutes(5))
+                .setTTL(AccountEndpoints.ME_TROPHIES, Duration.ofMinutes(30))
+                .setTTL(UserEndpoints.ABOUT, Duration.ofMinutes(5))
+                .setTTL(UserEndpoints.TROPHIES, Duration.ofMinutes(30));
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * Sets the time to live of the responses of the given endpoint. A zero or negative duration
+     * disables caching for the endpoint.
+     */
+    public TTLResponseCache setTTL(Endpoints endpoint, Duration ttl) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            ttls.remove(endpoint);
+            invalidate(endpoint);
+        } else {
+            ttls.put(endpoint, ttl.toMillis());
+        }
+        return this;
+    }
+
+    /**
+     * @return the time to live of the responses of the given endpoint, {@link Duration#ZERO} if not cacheable
+     */
+    public Duration getTTL(Endpoints endpoint) {
+        Long ttl = ttls.get(endpoint);
+        return ttl != null ? Duration.ofMillis(ttl) : Duration.ZERO;
+    }
+
+    //================================================================================
+    // Override Methods
+    //================================================================================
+    @Override
+    public boolean isCacheable(Endpoints endpoint) {
+        return endpoint != null && ttls.containsKey(endpoint);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized <T> T get(String url, Type type) {
+        Key key = new Key(url, type);
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.isExpired()) {
+            if (!entry.hasValidators()) {
+                cache.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return (T) entry.value();
+    }
+
+    @Override
+    public void put(Endpoints endpoint, String url, Type type, Object value) {
+        put(endpoint, url, type, value, null, null);
+    }
+
+    @Override
+    public void put(Endpoints endpoint, String url, Type type, Object value, String eTag, String lastModified) {
+        Long ttl = ttls.get(endpoint);
+        if (ttl == null || value == null) {
+            return;
+        }
+
+        Entry entry = new Entry(endpoint, value, eTag, lastModified, System.currentTimeMillis() + ttl);
+        synchronized (this) {
+            cache.put(new Key(url, type), entry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized <T> Stale<T> getStale(String url, Type type) {
+        Entry entry = cache.get(new Key(url, type));
+        if (entry == null || !entry.hasValidators()) {
+            return null;
+        }
+        return new Stale<>((T) entry.value(), entry.eTag(), entry.lastModified());
+    }
+
+    @Override
+    public synchronized void revalidated(String url, Type type) {
+        Key key = new Key(url, type);
+        Entry entry = cache.get(key);
+        Long ttl = entry != null ? ttls.get(entry.endpoint()) : null;
+        if (ttl == null) {
+            return;
+        }
+
+        cache.put(key, new Entry(entry.endpoint(), entry.value(), entry.eTag(), entry.lastModified(), System.currentTimeMillis() + ttl));
+        revalidations++;
+    }
+
+    @Override
+    public synchronized void invalidate(Endpoints endpoint) {
+        cache.values().removeIf(entry -> entry.endpoint() == endpoint);
+    }
+
+    @Override
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, revalidations, evictions, cache.size());
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+    private record Key(String url, Type type) {}
+
+    private record Entry(Endpoints endpoint, Object value, String eTag, String lastModified, long expireTime) {
+
+        boolean isExpired() {
+            return expireTime < System.currentTimeMillis();
+        }
+
+        boolean hasValidators() {
+            return eTag != null || lastModified != null;
+        }
+    }
+}
@@ -29,27 +29,31 @@ import java.lang.reflect.Type;
 
 /**
  * Class to obtain a global instance of Gson
+ * <p></p>
+ * Two profiles are available, see {@link Profile}. All the static methods use the {@link Profile#COMPACT}
+ * instance unless a profile is explicitly specified.
  */
 public class GsonInstance {
     //================================================================================
     // Properties
     //================================================================================
     private final static Gson gson;
+    private final static Gson prettyGson;
 
     //================================================================================
     // Initialization
     //================================================================================
     static {
-        gson = new GsonBuilder()
+        GsonBuilder builder = new GsonBuilder()
                 .addSerializationExclusionStrategy(ExcludeAnnotationStrategy.instance())
                 .disableHtmlEscaping()
 /*              .registerTypeAdapter(KarmaList.class, new KarmaListSerializer())
                 .registerTypeAdapter(TrophyList.class, new TrophyListSerializer())
                 .registerTypeAdapter(UserList.class, new UserListSerializer())
  */
-                .registerTypeAdapterFactory(new WrapTypeAdapterFactory())
-                .setPrettyPrinting()
-                .create();
+                .registerTypeAdapterFactory(new WrapTypeAdapterFactory());
+        gson = builder.create();
+        prettyGson = builder.setPrettyPrinting().create();
     }
 
     //================================================================================
@@ -60,10 +64,20 @@ public class GsonInstance {
     //================================================================================
     // Getters
     //================================================================================
+    /**
+     * @return the {@link Profile#COMPACT} Gson instance
+     */
     public static Gson gson() {
         return gson;
     }
 
+    /**
+     * @return the Gson instance for the given profile
+     */
+    public static Gson gson(Profile profile) {
+        return profile == Profile.PRETTY ? prettyGson : gson;
+    }
+
     //================================================================================
     // Delegate Methods
     //================================================================================
@@ -95,6 +109,14 @@ public class GsonInstance {
         return gson.toJson(src, typeOfSrc);
     }
 
+    public static String toJson(Object src, Profile profile) {
+        return gson(profile).toJson(src);
+    }
+
+    public static String toJson(Object src, Type typeOfSrc, Profile profile) {
+        return gson(profile).toJson(src, typeOfSrc);
+    }
+
     public static void toJson(Object src, Appendable writer) throws JsonIOException {
         gson.toJson(src, writer);
     }
@@ -111,6 +133,10 @@ public class GsonInstance {
         return gson.toJson(jsonElement);
     }
 
+    public static String toJson(JsonElement jsonElement, Profile profile) {
+        return gson(profile).toJson(jsonElement);
+    }
+
     public static void toJson(JsonElement jsonElement, Appendable writer) throws JsonIOException {
         gson.toJson(jsonElement, writer);
     }
@@ -146,4 +172,19 @@ public class GsonInstance {
     public static <T> T fromJson(JsonElement json, Type typeOfT) throws JsonSyntaxException {
         return gson.fromJson(json, typeOfT);
     }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * Named Gson configurations.
+     * <p>
+     * Both profiles share the same settings and adapters, they only differ in the output format:
+     * <p> - COMPACT: no whitespace, to use on the wire and for storage
+     * <p> - PRETTY: indented output, meant for humans (logs, debugging)
+     */
+    public enum Profile {
+        COMPACT, PRETTY
+    }
 }
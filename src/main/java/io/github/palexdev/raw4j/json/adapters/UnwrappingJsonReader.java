@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.json.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.github.palexdev.raw4j.json.annotations.Wrapped;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * {@link JsonReader} used by {@link WrappedTypeAdapter} to unwrap {@link Wrapped} objects while streaming.
+ * <p>
+ * Every read is delegated to the source reader. When a wrapped object is being read, a {@link Frame} is pushed
+ * for it; when the wrapper key (for example "data") is found at the frame's level and its value is an object, the
+ * key and the braces are consumed silently, so that the delegate adapter sees the wrapped properties as if they
+ * were at the root of the object.
+ * <p>
+ * A frame can also specify a {@link NameHandler} to consume the value of a specific property on its own
+ * (see the special handling for {@code Overview}s in {@link WrappedTypeAdapter}).
+ * <p></p>
+ * Tokens can also be "replayed" with {@link #replay(JsonToken, String)}, this is needed when some tokens have been
+ * read ahead from the source reader to decide which adapter to use.
+ * <p></p>
+ * Numbers are read by the source reader, so they follow the {@link JsonReader} semantics: {@link #nextInt()} and
+ * {@link #nextLong()} fail with a {@link NumberFormatException} on decimal numbers. Fields that need a more
+ * lenient conversion declare their own adapter, see {@link TimestampAdapter}.
+ * <p>
+ * Gson's internal access to the reader state is not supported (it's used to read {@link java.util.Map}s),
+ * types that contain maps are read as a tree by {@link WrappedTypeAdapter}.
+ */
+class UnwrappingJsonReader extends JsonReader {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final Reader UNREADABLE_READER = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final JsonReader in;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final Deque<Replayed> replay = new ArrayDeque<>();
+    private String pendingName;
+    private int depth;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    UnwrappingJsonReader(JsonReader in) {
+        super(UNREADABLE_READER);
+        this.in = in;
+        setLenient(in.isLenient());
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * @return the source reader
+     */
+    JsonReader source() {
+        return in;
+    }
+
+    /**
+     * Pushes a new frame for the object that is going to be read next.
+     *
+     * @param key the wrapper key, see {@link Wrapped#value()}
+     */
+    Frame push(String key) {
+        Frame frame = new Frame(depth + 1, key);
+        frames.push(frame);
+        return frame;
+    }
+
+    /**
+     * Removes the given frame, to call once the object has been read.
+     */
+    void pop(Frame frame) {
+        frames.remove(frame);
+    }
+
+    /**
+     * Adds a token that will be returned before reading again from the source reader.
+     *
+     * @param token the token type, only {@link JsonToken#BEGIN_OBJECT}, {@link JsonToken#NAME} and {@link JsonToken#STRING} are supported
+     * @param value the name or the string value, null for {@link JsonToken#BEGIN_OBJECT}
+     */
+    void replay(JsonToken token, String value) {
+        replay.add(new Replayed(token, value));
+    }
+
+    private Frame currentFrame() {
+        Frame frame = frames.peek();
+        return (frame != null && frame.depth == depth) ? frame : null;
+    }
+
+    private Replayed consumeReplayed(JsonToken expected) {
+        Replayed replayed = replay.poll();
+        if (replayed.token != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + replayed.token + " at path " + getPath());
+        }
+        return replayed;
+    }
+
+    //================================================================================
+    // Override Methods
+    //================================================================================
+    @Override
+    public JsonToken peek() throws IOException {
+        while (true) {
+            if (!replay.isEmpty()) {
+                return replay.peek().token;
+            }
+            if (pendingName != null) {
+                return JsonToken.NAME;
+            }
+
+            Frame frame = currentFrame();
+            JsonToken token = in.peek();
+            if (frame == null) {
+                return token;
+            }
+
+            if (token == JsonToken.NAME) {
+                String name = in.nextName();
+                if (!frame.unwrapped && name.equals(frame.key) && in.peek() == JsonToken.BEGIN_OBJECT) {
+                    in.beginObject();
+                    frame.unwrapped = true;
+                    frame.open = true;
+                    continue;
+                }
+                if (frame.handler != null && name.equals(frame.handlerName)) {
+                    frame.handler.handle(this);
+                    continue;
+                }
+                pendingName = name;
+                return JsonToken.NAME;
+            }
+
+            if (token == JsonToken.END_OBJECT && frame.open) {
+                in.endObject();
+                frame.open = false;
+                continue;
+            }
+            return token;
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        peek();
+        in.beginArray();
+        depth++;
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        peek();
+        in.endArray();
+        depth--;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        if (peek() == JsonToken.BEGIN_OBJECT && !replay.isEmpty()) {
+            consumeReplayed(JsonToken.BEGIN_OBJECT);
+        } else {
+            in.beginObject();
+        }
+        depth++;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        peek();
+        in.endObject();
+        depth--;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        peek();
+        if (!replay.isEmpty()) {
+            return consumeReplayed(JsonToken.NAME).value;
+        }
+        if (pendingName != null) {
+            String name = pendingName;
+            pendingName = null;
+            return name;
+        }
+        return in.nextName();
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        peek();
+        return replay.isEmpty() ? in.nextString() : consumeReplayed(JsonToken.STRING).value;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        peek();
+        return in.nextBoolean();
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        peek();
+        in.nextNull();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        peek();
+        return in.nextDouble();
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        peek();
+        return in.nextLong();
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        peek();
+        return in.nextInt();
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        peek();
+        if (!replay.isEmpty()) {
+            throw new IllegalStateException("Cannot skip replayed tokens at path " + getPath());
+        }
+        if (pendingName != null) {
+            pendingName = null;
+            return;
+        }
+        in.skipValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    @Override
+    public String getPreviousPath() {
+        return in.getPreviousPath();
+    }
+
+    @Override
+    public String getPath() {
+        return in.getPath();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + in + "]";
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * Keeps the state of a wrapped object being read.
+     */
+    static class Frame {
+        private final int depth;
+        private final String key;
+        private boolean unwrapped;
+        private boolean open;
+        private String handlerName;
+        private NameHandler handler;
+
+        private Frame(int depth, String key) {
+            this.depth = depth;
+            this.key = key;
+        }
+
+        /**
+         * Sets the handler responsible for reading the value of the property with the given name.
+         */
+        Frame handle(String name, NameHandler handler) {
+            this.handlerName = name;
+            this.handler = handler;
+            return this;
+        }
+    }
+
+    /**
+     * Functional interface to consume the value of a property from the given reader.
+     */
+    @FunctionalInterface
+    interface NameHandler {
+        void handle(UnwrappingJsonReader reader) throws IOException;
+    }
+
+    private record Replayed(JsonToken token, String value) {}
+}
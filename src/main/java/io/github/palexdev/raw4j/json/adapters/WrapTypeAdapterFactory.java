@@ -26,6 +26,8 @@ import io.github.palexdev.raw4j.json.annotations.Wrapped;
 
 /**
  * Factory to create adapters of type {@link WrappedTypeAdapter}.
+ * <p>
+ * Since Gson caches adapters, the {@link WritePlan} of each type is built only once.
  */
 public class WrapTypeAdapterFactory implements TypeAdapterFactory {
 
@@ -33,7 +35,7 @@ public class WrapTypeAdapterFactory implements TypeAdapterFactory {
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
         TypeAdapter<T> delegateAdapter = gson.getDelegateAdapter(this, type);
         return type.getRawType().isAnnotationPresent(Wrapped.class) ?
-                new WrappedTypeAdapter<>(type, delegateAdapter) :
+                new WrappedTypeAdapter<>(gson, type, delegateAdapter, WritePlan.of(gson, type)) :
                 delegateAdapter;
     }
 }
@@ -18,17 +18,18 @@
 
 package io.github.palexdev.raw4j.json.adapters;
 
-import com.google.gson.JsonArray;
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.TypeAdapter;
-import com.google.gson.annotations.SerializedName;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.internal.bind.JsonTreeReader;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import io.github.palexdev.raw4j.data.Comment;
 import io.github.palexdev.raw4j.data.Post;
-import io.github.palexdev.raw4j.data.base.Submission;
 import io.github.palexdev.raw4j.data.listing.Overview;
 import io.github.palexdev.raw4j.enums.ThingType;
 import io.github.palexdev.raw4j.json.GsonInstance;
@@ -38,12 +39,13 @@ import io.github.palexdev.raw4j.json.annotations.Wrapped;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Gson adapter to deal with most Reddit models.
@@ -58,169 +60,231 @@ import java.util.stream.Collectors;
 public class WrappedTypeAdapter<T> extends TypeAdapter<T> {
     private final Wrapped wrapped;
     private final TypeAdapter<T> delegateAdapter;
+    private final WritePlan<T> writePlan;
     private final TypeAdapter<JsonElement> elementTypeAdapter;
+    private final boolean treeOnly;
+
+    private final boolean isOverview;
+    private TypeAdapter<Comment> commentAdapter;
+    private TypeAdapter<Post> postAdapter;
+    private Field commentsField;
+    private Field postsField;
 
     public WrappedTypeAdapter(TypeToken<T> type, TypeAdapter<T> delegateAdapter) {
+        this(GsonInstance.gson(), type, delegateAdapter, WritePlan.of(GsonInstance.gson(), type));
+    }
+
+    WrappedTypeAdapter(Gson gson, TypeToken<T> type, TypeAdapter<T> delegateAdapter, WritePlan<T> writePlan) {
         this.wrapped = type.getRawType().getAnnotation(Wrapped.class);
         this.delegateAdapter = delegateAdapter;
-        this.elementTypeAdapter = GsonInstance.getAdapter(JsonElement.class);
+        this.writePlan = writePlan;
+        this.elementTypeAdapter = gson.getAdapter(JsonElement.class);
+        this.treeOnly = reachesMap(type.getType(), new HashSet<>(), true);
+
+        this.isOverview = type.getRawType() == Overview.class;
+        if (isOverview) {
+            this.commentAdapter = gson.getAdapter(Comment.class);
+            this.postAdapter = gson.getAdapter(Post.class);
+            try {
+                this.commentsField = Overview.class.getDeclaredField("comments");
+                this.postsField = Overview.class.getDeclaredField("posts");
+                commentsField.setAccessible(true);
+                postsField.setAccessible(true);
+            } catch (NoSuchFieldException ex) {
+                ex.printStackTrace();
+            }
+        }
     }
 
+    /**
+     * Writes the given value by following the {@link WritePlan} built for this adapter's type,
+     * envelopes are written directly to the given writer.
+     */
     @Override
     public void write(JsonWriter out, T value) throws IOException {
-        JsonElement element = delegateAdapter.toJsonTree(value);
-        if (element.isJsonNull()) {
-            out.nullValue();
-            return;
-        }
-
-        JsonObject root = element.getAsJsonObject(); // TODO may throw exception getAsJsonObject()
-        JsonObject finalObject = relocate(root, value);
-
-        // Special handling for Overviews
-        if (value instanceof Overview overview) {
-            List<Submission> submissions = overview.submissions();
-            finalObject.getAsJsonObject("data").add("children", GsonInstance.toJsonTree(submissions));
-        }
-
-        elementTypeAdapter.write(out, finalObject);
+        writePlan.write(out, value);
     }
 
-    protected JsonObject relocate(JsonObject root, T value) {
-        List<FieldData> fieldData = retrieveFieldData(value.getClass());
-        for (FieldData fd : fieldData) {
-            if (!fd.path.equals("root")) {
-                String name = getPath(fd.path);
-                JsonObject path;
-                try {
-                    path = root.get(name).getAsJsonObject();
-                } catch (NullPointerException ex) {
-                    path = handlePath(root, fd.path);
-                }
-                JsonElement element = root.remove(fd.name);
-                path.add(fd.name, element);
-            }
+    /**
+     * Reads the wrapped object without building an intermediate tree.
+     * <p>
+     * The given reader is wrapped in an {@link UnwrappingJsonReader} (unless it already is one), which hides
+     * the {@link Wrapped} key from the delegate adapter, so that the fields are bound on the fly.
+     * <p></p>
+     * For {@link Overview}s the "children" array is read by {@link #readSubmissions(UnwrappingJsonReader, List, List)}.
+     * <p></p>
+     * The object is read by {@link #readTree(JsonReader)} instead if the given reader already reads from a tree,
+     * or if this adapter's type contains {@link Map}s, which cannot be read through an {@link UnwrappingJsonReader}.
+     */
+    @Override
+    public T read(JsonReader in) throws IOException {
+        if (treeOnly || in instanceof JsonTreeReader) {
+            return readTree(in);
         }
-        return root;
-    }
 
+        UnwrappingJsonReader reader = in instanceof UnwrappingJsonReader unwrapping ? unwrapping : new UnwrappingJsonReader(in);
+        UnwrappingJsonReader.Frame frame = reader.push(wrapped.value());
 
-    private JsonObject handlePath(JsonObject root, String path) {
-        String[] paths = path.split("\\.");
-        JsonObject last = null;
-        for (String s : paths) {
-            JsonObject obj = new JsonObject();
-            root.add(s, obj);
-            last = obj;
+        List<Comment> comments = null;
+        List<Post> posts = null;
+        if (isOverview) {
+            List<Comment> overviewComments = comments = new ArrayList<>();
+            List<Post> overviewPosts = posts = new ArrayList<>();
+            frame.handle("children", r -> readSubmissions(r, overviewComments, overviewPosts));
         }
-        return last;
-    }
 
-    private String getPath(String fullPath) {
-        String[] paths = fullPath.split("\\.");
-        return paths[paths.length - 1];
-    }
-
-    private List<FieldData> retrieveFieldData(Class<?> clazz) {
-        List<FieldData> fieldData = new ArrayList<>();
-        while (clazz != Object.class) {
-            List<Field> declaredFields = Arrays.stream(clazz.getDeclaredFields())
-                    .filter(field -> !Modifier.isTransient(field.getModifiers()))
-                    .collect(Collectors.toList());
-            for (Field field : declaredFields) {
-                FieldData data = new FieldData(field, field.getGenericType(), getPropertyName(field), getPropertyPath(field, clazz));
-                fieldData.add(data);
-            }
-            clazz = clazz.getSuperclass();
+        T val;
+        try {
+            val = delegateAdapter.read(reader);
+        } finally {
+            reader.pop(frame);
         }
-        fieldData.sort(Comparator.comparing(FieldData::getName));
-        return fieldData;
-    }
 
-    private String getPropertyName(Field field) {
-        SerializedName serializedName = field.getAnnotation(SerializedName.class);
-        return serializedName != null ? serializedName.value() : field.getName();
-    }
-
-    private String getPropertyPath(Field field, Class<?> clazz) {
-        Wrapped classWrapped = clazz.getAnnotation(Wrapped.class);
-        Wrapped fieldWrapped = field.getAnnotation(Wrapped.class);
-
-        String path = "root";
-        if (fieldWrapped != null) {
-            path = fieldWrapped.value();
-        } else if (classWrapped != null && !field.isAnnotationPresent(IgnoreWrap.class)) {
-            path = classWrapped.value();
+        // Special handling for Overviews
+        if (isOverview && val != null) {
+            setSubmissions(val, comments, posts);
         }
-        return path;
+
+        return val;
     }
 
-    @Override
-    public T read(JsonReader in) throws IOException {
+    /**
+     * Reads the wrapped object by building a {@link JsonElement} tree first, moving the wrapped properties
+     * to the root and then binding the tree with the delegate adapter.
+     * <p>
+     * This is slower than {@link #read(JsonReader)}, but it's the reference behavior the streaming path must match.
+     */
+    protected T readTree(JsonReader in) throws IOException {
         JsonElement element = elementTypeAdapter.read(in);
         if (element.isJsonNull()) {
             return null;
         }
 
         JsonObject json = element.getAsJsonObject();
-        JsonObject unwrapped = (JsonObject) json.remove(wrapped.value());
-        if (unwrapped != null && !unwrapped.equals(json)) {
-            unwrapped.entrySet().forEach(entry -> json.add(entry.getKey(), entry.getValue()));
+        JsonElement unwrapped = json.get(wrapped.value());
+        if (unwrapped != null && unwrapped.isJsonObject()) {
+            json.remove(wrapped.value());
+            unwrapped.getAsJsonObject().entrySet().forEach(entry -> json.add(entry.getKey(), entry.getValue()));
         }
 
+        JsonElement children = isOverview ? json.remove("children") : null;
         T val = delegateAdapter.fromJsonTree(json);
 
         // Special handling for Overviews
-        if (val.getClass() == Overview.class) {
+        if (isOverview && val != null) {
             List<Comment> comments = new ArrayList<>();
             List<Post> posts = new ArrayList<>();
-            JsonArray submissions = json.getAsJsonArray("children");
-            for (JsonElement submission : submissions) {
-                JsonObject objSub = submission.getAsJsonObject();
-                ThingType type = ThingType.from(objSub.get("kind").getAsString());
-                if (type == ThingType.T1) {
-                    Comment comment = GsonInstance.fromJson(objSub, Comment.class);
-                    comments.add(comment);
-                } else {
-                    Post post = GsonInstance.fromJson(objSub, Post.class);
-                    posts.add(post);
-                }
-            }
+            if (children != null && children.isJsonArray()) {
+                for (JsonElement child : children.getAsJsonArray()) {
+                    if (child.isJsonNull()) {
+                        continue;
+                    }
 
-            try {
-                Field commentsField = val.getClass().getDeclaredField("comments");
-                Field postsField = val.getClass().getDeclaredField("posts");
-                commentsField.setAccessible(true);
-                postsField.setAccessible(true);
-                commentsField.set(val, comments);
-                postsField.set(val, posts);
-            } catch (NoSuchFieldException | IllegalAccessException ex) {
-                ex.printStackTrace();
+                    JsonObject objSub = child.getAsJsonObject();
+                    if (ThingType.from(objSub.get("kind").getAsString()) == ThingType.T1) {
+                        comments.add(commentAdapter.fromJsonTree(objSub));
+                    } else {
+                        posts.add(postAdapter.fromJsonTree(objSub));
+                    }
+                }
             }
+            setSubmissions(val, comments, posts);
         }
 
         return val;
     }
 
-    private record FieldData(Field field, Type type, String name, String path) {
+    private void setSubmissions(T overview, List<Comment> comments, List<Post> posts) {
+        try {
+            commentsField.set(overview, comments);
+            postsField.set(overview, posts);
+        } catch (IllegalAccessException ex) {
+            ex.printStackTrace();
+        }
+    }
 
-        @SuppressWarnings("All")
-        public void write(JsonWriter writer, Object value) throws IOException {
-            try {
-                Object fieldValue = field.get(value);
-                TypeAdapter t = GsonInstance.getAdapter(TypeToken.get(type));
-                t.write(writer, fieldValue);
-            } catch (IllegalAccessException ex) {
-                ex.printStackTrace();
+    /**
+     * Checks whether a {@link Map} can be reached from the fields of the given type.
+     * <p>
+     * Fields with their own {@link JsonAdapter} and other {@link Wrapped} types are not inspected,
+     * they are read by their own adapters.
+     */
+    private static boolean reachesMap(Type type, Set<Class<?>> visited, boolean root) {
+        Class<?> raw = TypeToken.get(type).getRawType();
+        if (Map.class.isAssignableFrom(raw)) {
+            return true;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                if (reachesMap(argument, visited, false)) return true;
             }
         }
+        if (raw.isArray()) {
+            return reachesMap(raw.getComponentType(), visited, false);
+        }
+        if (raw.isPrimitive() || raw.isEnum() || raw.getName().startsWith("java.") ||
+                (!root && raw.isAnnotationPresent(Wrapped.class)) || !visited.add(raw)) {
+            return false;
+        }
 
-        public String getName() {
-            return name;
+        for (Class<?> clazz = raw; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isAnnotationPresent(JsonAdapter.class)) {
+                    continue;
+                }
+                if (reachesMap(field.getGenericType(), visited, false)) return true;
+            }
         }
+        return false;
+    }
+
+    /**
+     * Reads the children of an {@link Overview}, dispatching each of them to the {@link Comment}
+     * or {@link Post} adapter according to its "kind".
+     * <p>
+     * Reddit always puts the "kind" property first, so it's read ahead from the source reader and then
+     * replayed to the chosen adapter. In case it is not the first property, the child is read as a tree.
+     */
+    private void readSubmissions(UnwrappingJsonReader reader, List<Comment> comments, List<Post> posts) throws IOException {
+        JsonReader source = reader.source();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
 
-        private int childrenNum() {
-            return path.split("\\.").length;
+            source.beginObject();
+            String name = source.hasNext() ? source.nextName() : null;
+            if ("kind".equals(name) && source.peek() == JsonToken.STRING) {
+                String kind = source.nextString();
+                reader.replay(JsonToken.BEGIN_OBJECT, null);
+                reader.replay(JsonToken.NAME, name);
+                reader.replay(JsonToken.STRING, kind);
+                if (ThingType.from(kind) == ThingType.T1) {
+                    comments.add(commentAdapter.read(reader));
+                } else {
+                    posts.add(postAdapter.read(reader));
+                }
+                continue;
+            }
+
+            JsonObject objSub = new JsonObject();
+            if (name != null) {
+                objSub.add(name, elementTypeAdapter.read(source));
+                while (source.hasNext()) {
+                    objSub.add(source.nextName(), elementTypeAdapter.read(source));
+                }
+            }
+            source.endObject();
+            ThingType type = ThingType.from(objSub.get("kind").getAsString());
+            if (type == ThingType.T1) {
+                comments.add(commentAdapter.fromJsonTree(objSub));
+            } else {
+                posts.add(postAdapter.fromJsonTree(objSub));
+            }
         }
+        reader.endArray();
     }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.json.adapters;
+
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.palexdev.raw4j.data.base.Submission;
+import io.github.palexdev.raw4j.data.listing.Overview;
+import io.github.palexdev.raw4j.json.ExcludeAnnotationStrategy;
+import io.github.palexdev.raw4j.json.annotations.IgnoreWrap;
+import io.github.palexdev.raw4j.json.annotations.Wrapped;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed plan used by {@link WrappedTypeAdapter} to serialize a {@link Wrapped} type.
+ * <p>
+ * The plan is built once per {@link TypeToken} by {@link WrapTypeAdapterFactory}: the class hierarchy is
+ * inspected only once, and for each field it is determined its JSON name, its adapter and where it
+ * should be written, at the root of the object or in one of its envelopes (the {@link Wrapped} value).
+ * <p></p>
+ * The JSON produced is the same as the previous tree-based implementation:
+ * <p> - root fields are written first, in the same order Gson would write them
+ * <p> - then the envelopes are written, each containing its fields sorted by their JSON name
+ * <p> - null values are written (or omitted) according to the {@link JsonWriter} settings
+ * <p> - fields annotated with {@link JsonAdapter} are written with that adapter, as Gson's reflective adapter does
+ */
+class WritePlan<T> {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private final List<BoundField> rootFields;
+    private final List<Envelope<T>> envelopes;
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private WritePlan(List<BoundField> rootFields, List<Envelope<T>> envelopes) {
+        this.rootFields = rootFields;
+        this.envelopes = envelopes;
+    }
+
+    /**
+     * Builds the write plan for the given type.
+     */
+    static <T> WritePlan<T> of(Gson gson, TypeToken<T> type) {
+        List<BoundField> rootFields = new ArrayList<>();
+        List<WrappedField> wrappedFields = new ArrayList<>();
+
+        Class<?> clazz = type.getRawType();
+        while (clazz != null && clazz != Object.class) {
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isTransient(modifiers) || Modifier.isStatic(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+
+                String path = getPropertyPath(field, clazz);
+                boolean excluded = ExcludeAnnotationStrategy.instance().shouldSkipField(new FieldAttributes(field));
+                BoundField boundField = excluded ? null : BoundField.of(gson, field);
+                if (path.equals("root")) {
+                    if (boundField != null) rootFields.add(boundField);
+                } else {
+                    wrappedFields.add(new WrappedField(getPropertyName(field), path, boundField));
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+
+        // Envelopes are ordered by their first field and written even if all their fields are excluded
+        wrappedFields.sort(Comparator.comparing(WrappedField::name));
+        Map<String, List<BoundField>> envelopes = new LinkedHashMap<>();
+        for (WrappedField field : wrappedFields) {
+            List<BoundField> fields = envelopes.computeIfAbsent(field.path(), p -> new ArrayList<>());
+            if (field.boundField() != null) fields.add(field.boundField());
+        }
+
+        List<Envelope<T>> envelopeList = new ArrayList<>();
+        envelopes.forEach((path, fields) -> envelopeList.add(new Envelope<>(getPath(path), List.copyOf(fields), trailer(gson, type, path))));
+        return new WritePlan<>(List.copyOf(rootFields), List.copyOf(envelopeList));
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * Writes the given value to the given writer according to this plan.
+     */
+    void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        for (BoundField field : rootFields) {
+            field.write(out, value);
+        }
+        for (Envelope<T> envelope : envelopes) {
+            out.name(envelope.name());
+            out.beginObject();
+            for (BoundField field : envelope.fields()) {
+                field.write(out, value);
+            }
+            if (envelope.trailer() != null) {
+                envelope.trailer().write(out, value);
+            }
+            out.endObject();
+        }
+        out.endObject();
+    }
+
+    private static String getPropertyName(Field field) {
+        SerializedName serializedName = field.getAnnotation(SerializedName.class);
+        return serializedName != null ? serializedName.value() : field.getName();
+    }
+
+    private static String getPropertyPath(Field field, Class<?> clazz) {
+        Wrapped classWrapped = clazz.getAnnotation(Wrapped.class);
+        Wrapped fieldWrapped = field.getAnnotation(Wrapped.class);
+
+        String path = "root";
+        if (fieldWrapped != null) {
+            path = fieldWrapped.value();
+        } else if (classWrapped != null && !field.isAnnotationPresent(IgnoreWrap.class)) {
+            path = classWrapped.value();
+        }
+        return path;
+    }
+
+    private static String getPath(String fullPath) {
+        int index = fullPath.lastIndexOf('.');
+        return index == -1 ? fullPath : fullPath.substring(index + 1);
+    }
+
+    /**
+     * Resolves the adapter specified by the {@link JsonAdapter} annotation of the given field, the same way
+     * Gson does: the annotation's value can be a {@link TypeAdapter}, a {@link TypeAdapterFactory}, or a
+     * {@link JsonSerializer} and/or {@link JsonDeserializer} (if it's not a serializer the default adapter is used).
+     *
+     * @return the adapter or null if the field is not annotated
+     * @throws IllegalArgumentException if the annotation's value is not one of the above types or can't be instantiated
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TypeAdapter<Object> annotatedAdapter(Gson gson, Field field, TypeToken<?> fieldType) {
+        JsonAdapter annotation = field.getAnnotation(JsonAdapter.class);
+        if (annotation == null) {
+            return null;
+        }
+
+        Object instance;
+        try {
+            Constructor<?> constructor = annotation.value().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            instance = constructor.newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalArgumentException("Unable to instantiate the @JsonAdapter of field: " + field, ex);
+        }
+
+        TypeAdapter<Object> adapter;
+        if (instance instanceof TypeAdapter<?> typeAdapter) {
+            adapter = (TypeAdapter<Object>) typeAdapter;
+        } else if (instance instanceof TypeAdapterFactory factory) {
+            adapter = (TypeAdapter<Object>) factory.create(gson, fieldType);
+        } else if (instance instanceof JsonSerializer<?> serializer) {
+            return serializerAdapter(gson, (JsonSerializer<Object>) serializer, fieldType, annotation.nullSafe());
+        } else if (instance instanceof JsonDeserializer<?>) {
+            return (TypeAdapter<Object>) gson.getAdapter((TypeToken) fieldType);
+        } else {
+            throw new IllegalArgumentException("Invalid @JsonAdapter value on field: " + field +
+                    ", it must be a TypeAdapter, a TypeAdapterFactory, a JsonSerializer or a JsonDeserializer");
+        }
+        return adapter != null && annotation.nullSafe() ? adapter.nullSafe() : adapter;
+    }
+
+    /**
+     * @return an adapter which writes the values with the given {@link JsonSerializer}, only used to write
+     */
+    private static TypeAdapter<Object> serializerAdapter(Gson gson, JsonSerializer<Object> serializer, TypeToken<?> fieldType, boolean nullSafe) {
+        TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+        JsonSerializationContext context = new JsonSerializationContext() {
+            @Override
+            public JsonElement serialize(Object src) {
+                return gson.toJsonTree(src);
+            }
+
+            @Override
+            public JsonElement serialize(Object src, Type typeOfSrc) {
+                return gson.toJsonTree(src, typeOfSrc);
+            }
+        };
+        return new TypeAdapter<>() {
+            @Override
+            public void write(JsonWriter out, Object value) throws IOException {
+                if (nullSafe && value == null) {
+                    out.nullValue();
+                    return;
+                }
+                elementAdapter.write(out, serializer.serialize(value, fieldType.getType(), context));
+            }
+
+            @Override
+            public Object read(JsonReader in) {
+                throw new UnsupportedOperationException("Write only adapter");
+            }
+        };
+    }
+
+    /**
+     * Special handling for Overviews, the submissions are written as "children" at the end of the "data" envelope.
+     */
+    private static <T> Trailer<T> trailer(Gson gson, TypeToken<T> type, String path) {
+        if (type.getRawType() != Overview.class || !path.equals("data")) {
+            return null;
+        }
+
+        TypeAdapter<List<Submission>> submissionsAdapter = gson.getAdapter(new TypeToken<>() {});
+        return (out, value) -> {
+            out.name("children");
+            submissionsAdapter.write(out, ((Overview) value).submissions());
+        };
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * Functional interface to write additional properties at the end of an envelope.
+     */
+    @FunctionalInterface
+    private interface Trailer<T> {
+        void write(JsonWriter out, T value) throws IOException;
+    }
+
+    private record WrappedField(String name, String path, BoundField boundField) {}
+
+    private record Envelope<T>(String name, List<BoundField> fields, Trailer<T> trailer) {}
+
+    /**
+     * Holds the info needed to write a single field: its JSON name, where it should be written
+     * and the adapter to use.
+     * <p>
+     * As Gson does, if the field's value is of a different class than the declared one the adapter
+     * for the runtime class is used, unless the adapter is specified by {@link JsonAdapter}.
+     */
+    private record BoundField(Field field, String name, Class<?> declaredClass, TypeAdapter<Object> adapter, Gson gson) {
+
+        @SuppressWarnings("unchecked")
+        static BoundField of(Gson gson, Field field) {
+            field.setAccessible(true);
+            Type fieldType = field.getGenericType();
+            TypeAdapter<Object> annotated = annotatedAdapter(gson, field, TypeToken.get(fieldType));
+            if (annotated != null) {
+                return new BoundField(field, getPropertyName(field), null, annotated, gson);
+            }
+
+            TypeAdapter<Object> adapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(fieldType));
+            Class<?> declaredClass = (fieldType instanceof Class<?> c && !c.isPrimitive()) ? c : null;
+            return new BoundField(field, getPropertyName(field), declaredClass, adapter, gson);
+        }
+
+        @SuppressWarnings("unchecked")
+        void write(JsonWriter out, Object value) throws IOException {
+            Object fieldValue;
+            try {
+                fieldValue = field.get(value);
+            } catch (IllegalAccessException ex) {
+                throw new AssertionError(ex);
+            }
+
+            TypeAdapter<Object> typeAdapter = adapter;
+            if (fieldValue != null && declaredClass != null && fieldValue.getClass() != declaredClass) {
+                typeAdapter = (TypeAdapter<Object>) gson.getAdapter(fieldValue.getClass());
+            }
+            out.name(name);
+            typeAdapter.write(out, fieldValue);
+        }
+    }
+}
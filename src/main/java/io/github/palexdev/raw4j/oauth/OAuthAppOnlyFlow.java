@@ -68,7 +68,8 @@ public class OAuthAppOnlyFlow extends OAuthAuthorizationCodeFlow {
     @Override
     public void authenticate() throws OAuthException {
         try {
-            authInfo = loadAuthInfo();
+            OAuthInfo authInfo = loadAuthInfo();
+            setAuthInfo(authInfo);
             if (authInfo != null && authInfo.getRefreshToken() != null) {
                 refreshToken();
                 storeAuthInfo();
@@ -95,19 +96,18 @@ public class OAuthAppOnlyFlow extends OAuthAuthorizationCodeFlow {
     protected void retrieveAccessToken() throws OAuthException {
         logger.debug("Retrieving token...");
         RequestBody requestBody = new FormBody.Builder()
-                .add("grant_type", URLEnum.OAUTH_APP_ONLY_URL.toString())
+                .add("grant_type", URLEnum.OAUTH_APP_ONLY_URL.getDefaultURL())
                 .add("device_id", generateDeviceID())
                 .build();
 
-        String url = URLEnum.OAUTH_TOKEN_URL + (parameters.isPermanent() ? "?duration=permanent" : "");
+        String url = authURL(URLEnum.OAUTH_TOKEN_URL) + (parameters.isPermanent() ? "?duration=permanent" : "");
         JsonElement response = post(url, requestBody);
-        authInfo = fromJson(response, OAuthInfo.class);
-        authInfo.setExpireTime(Instant.now().getEpochSecond() + authInfo.getExpiresIn() - getExpireSecondsOffset());
+        OAuthInfo authInfo = fromJson(response, OAuthInfo.class);
+        authInfo = authInfo.withExpireTime(Instant.now().getEpochSecond() + authInfo.getExpiresIn() - getExpireSecondsOffset());
         if (!authInfo.isValid()) {
             throw new OAuthException("Invalid AuthInfo, check that the specified client parameters are correct");
         }
-        authInfo.setPermanent(parameters.isPermanent());
-        authInfo.setScopes(parameters.getScopes());
+        setAuthInfo(authInfo.withSession(parameters.isPermanent(), parameters.getScopes()));
         logger.debug("Token retrieved");
     }
 
@@ -95,7 +95,8 @@ public class OAuthAuthorizationCodeFlow extends AbstractOAuthFlow {
     @Override
     public void authenticate() throws OAuthException {
         try {
-            authInfo = loadAuthInfo();
+            OAuthInfo authInfo = loadAuthInfo();
+            setAuthInfo(authInfo);
             if (authInfo != null && authInfo.getRefreshToken() != null) {
                 refreshToken();
                 storeAuthInfo();
@@ -130,14 +131,13 @@ public class OAuthAuthorizationCodeFlow extends AbstractOAuthFlow {
                 .add("redirect_uri", parameters.getRedirectURI().toString())
                 .build();
 
-        JsonElement response = post(URLEnum.OAUTH_TOKEN_URL.toString(), requestBody);
-        authInfo = fromJson(response, OAuthInfo.class);
-        authInfo.setExpireTime(Instant.now().getEpochSecond() + authInfo.getExpiresIn() - getExpireSecondsOffset());
+        JsonElement response = post(authURL(URLEnum.OAUTH_TOKEN_URL), requestBody);
+        OAuthInfo authInfo = fromJson(response, OAuthInfo.class);
+        authInfo = authInfo.withExpireTime(Instant.now().getEpochSecond() + authInfo.getExpiresIn() - getExpireSecondsOffset());
         if (!authInfo.isValid()) {
             throw new OAuthException("Invalid AuthInfo, check that the specified client parameters are correct");
         }
-        authInfo.setPermanent(parameters.isPermanent());
-        authInfo.setScopes(parameters.getScopes());
+        setAuthInfo(authInfo.withSession(parameters.isPermanent(), parameters.getScopes()));
         logger.debug("Token retrieved");
     }
 
@@ -154,10 +154,12 @@ public class OAuthAuthorizationCodeFlow extends AbstractOAuthFlow {
     @Override
     protected void refreshToken() {
         logger.debug("Refreshing token...");
-        String refreshToken = authInfo.getRefreshToken();
+        OAuthInfo current = getAuthInfo();
+        String refreshToken = current.getRefreshToken();
         if (refreshToken == null || refreshToken.isBlank()) {
-            authInfo.revoke(true);
-            logger.error("Cannot refresh as it was not permanent, as a consequence the expired token has been revoked");
+            if (compareAndSetAuthInfo(current, current.revoked(true))) {
+                logger.error("Cannot refresh as it was not permanent, as a consequence the expired token has been revoked");
+            }
             return;
         }
 
@@ -166,21 +168,26 @@ public class OAuthAuthorizationCodeFlow extends AbstractOAuthFlow {
                 .add("refresh_token", refreshToken)
                 .build();
 
-        JsonElement response = post(URLEnum.OAUTH_TOKEN_URL.toString(), requestBody);
-        authInfo = fromJson(response, OAuthInfo.class);
-        authInfo.setExpireTime(Instant.now().getEpochSecond() + authInfo.getExpiresIn() - getExpireSecondsOffset());
-        authInfo.setRefreshToken(refreshToken);
-        authInfo.setPermanent(parameters.isPermanent());
-        authInfo.setScopes(parameters.getScopes());
+        JsonElement response = post(authURL(URLEnum.OAUTH_TOKEN_URL), requestBody);
+        OAuthInfo authInfo = fromJson(response, OAuthInfo.class);
+        setAuthInfo(authInfo
+                .withExpireTime(Instant.now().getEpochSecond() + authInfo.getExpiresIn() - getExpireSecondsOffset())
+                .withRefreshToken(refreshToken)
+                .withSession(parameters.isPermanent(), parameters.getScopes())
+        );
         logger.debug("Token refreshed");
     }
 
     /**
      * Revokes the access token or the refresh token, depending on the passed boolean.
+     * <p>
+     * The {@link OAuthInfo} is marked as revoked only if it's still the one whose token has been sent,
+     * a token published in the meantime by a refresh is kept.
      */
     @Override
     protected void revokeToken(boolean isAccessToken) {
         logger.debug("Revoking token...");
+        OAuthInfo authInfo = getAuthInfo();
         String token = isAccessToken ? authInfo.getAccessToken() : authInfo.getRefreshToken();
         if (token == null || token.isBlank()) {
             return;
@@ -191,9 +198,12 @@ public class OAuthAuthorizationCodeFlow extends AbstractOAuthFlow {
                 .add("token_type_hint", isAccessToken ? "access_token" : "refresh_token")
                 .build();
 
-        post(URLEnum.REVOKE_TOKEN_URL.toString(), requestBody);
-        authInfo.revoke(isAccessToken);
-        logger.debug("Token revoked");
+        post(authURL(URLEnum.REVOKE_TOKEN_URL), requestBody);
+        if (compareAndSetAuthInfo(authInfo, authInfo.revoked(isAccessToken))) {
+            logger.debug("Token revoked");
+        } else {
+            logger.debug("Token revoked, a new one had been published in the meantime");
+        }
     }
 
     //================================================================================
@@ -225,7 +235,7 @@ public class OAuthAuthorizationCodeFlow extends AbstractOAuthFlow {
         randomState = StringUtils.randomString(10);
 
         String authUrl = String.format(
-                URLEnum.OAUTH_AUTH_URL +
+                authURL(URLEnum.OAUTH_AUTH_URL) +
                         "?client_id=%s&" +
                         "response_type=%s&" +
                         "state=%s&" +
@@ -259,7 +269,7 @@ public class OAuthAuthorizationCodeFlow extends AbstractOAuthFlow {
         if (storeAction == null) {
             return;
         }
-        storeAction.accept(authInfo);
+        storeAction.accept(getAuthInfo());
         logger.debug("Auth Info stored");
     }
 
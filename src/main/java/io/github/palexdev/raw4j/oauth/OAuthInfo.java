@@ -34,96 +34,123 @@ import java.util.List;
  * <p> - if the token is permanent or temporary
  * <p> - the scopes requested
  * <p></p>
+ * Instances are immutable snapshots of the state, every change produces a new instance (see the "with" methods),
+ * so that OAuth flows can publish them atomically and share them between threads without locking.
  * <p></p>
  * If the object is serialized with the Gson instance provided by RAW4J only the access token will be included in the
  * resulting JSON for security reasons. However, you can change this behavior by using another Gson instance, it's not
  * recommended though.
  */
-public class OAuthInfo {
+public final class OAuthInfo {
     //================================================================================
     // Properties
     //================================================================================
     @SerializedName("access_token")
     @Exclude
-    private String accessToken;
+    private final String accessToken;
 
     @SerializedName("expires_in")
     @Exclude
-    private Integer expiresIn;
+    private final Integer expiresIn;
 
     @SerializedName("expire_time")
     @Exclude
-    private Long expireTime;
+    private final Long expireTime;
 
     @SerializedName("refresh_token")
-    private String refreshToken;
+    private final String refreshToken;
 
-    private transient boolean permanent;
-    private transient List<Scopes> scopes;
+    private final transient boolean permanent;
+    private final transient List<Scopes> scopes;
 
     //================================================================================
-    // Getters, Setters
+    // Constructors
     //================================================================================
-    public String getAccessToken() {
-        return accessToken;
+
+    /**
+     * Used by Gson.
+     */
+    private OAuthInfo() {
+        this(null, null, null, null, false, null);
     }
 
-    public Integer getExpiresIn() {
-        return expiresIn;
+    private OAuthInfo(String accessToken, Integer expiresIn, Long expireTime, String refreshToken, boolean permanent, List<Scopes> scopes) {
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+        this.expireTime = expireTime;
+        this.refreshToken = refreshToken;
+        this.permanent = permanent;
+        this.scopes = scopes;
     }
 
-    public Long getExpireTime() {
-        return expireTime;
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * @return a copy of this object with the given expire time
+     */
+    OAuthInfo withExpireTime(Long expireTime) {
+        return new OAuthInfo(accessToken, expiresIn, expireTime, refreshToken, permanent, scopes);
     }
 
-    void setExpireTime(Long expireTime) {
-        this.expireTime = expireTime;
+    /**
+     * @return a copy of this object with the given refresh token
+     */
+    OAuthInfo withRefreshToken(String refreshToken) {
+        return new OAuthInfo(accessToken, expiresIn, expireTime, refreshToken, permanent, scopes);
     }
 
-    public String getRefreshToken() {
-        return refreshToken;
+    /**
+     * @return a copy of this object with the given duration type and scopes
+     */
+    OAuthInfo withSession(boolean permanent, List<Scopes> scopes) {
+        return new OAuthInfo(accessToken, expiresIn, expireTime, refreshToken, permanent, scopes == null ? null : List.copyOf(scopes));
     }
 
-    void setRefreshToken(String refreshToken) {
-        this.refreshToken = refreshToken;
+    /**
+     * Used when the token is revoked or when you try to refresh the token but it was not permanent.
+     *
+     * @param isAccessToken to specify what to reset
+     * @return a copy of this object without the access token info or without the refresh token
+     */
+    OAuthInfo revoked(boolean isAccessToken) {
+        return isAccessToken ?
+                new OAuthInfo(null, null, null, refreshToken, permanent, scopes) :
+                new OAuthInfo(accessToken, expiresIn, expireTime, null, permanent, scopes);
     }
 
-    public boolean isPermanent() {
-        return permanent;
+    /**
+     * Checks if the access token is valid.
+     */
+    public boolean isValid() {
+        return expiresIn != null && expireTime != null && Instant.now().getEpochSecond() < expireTime;
     }
 
-    void setPermanent(boolean permanent) {
-        this.permanent = permanent;
+    //================================================================================
+    // Getters
+    //================================================================================
+    public String getAccessToken() {
+        return accessToken;
     }
 
-    public List<Scopes> getScopes() {
-        return scopes;
+    public Integer getExpiresIn() {
+        return expiresIn;
     }
 
-    void setScopes(List<Scopes> scopes) {
-        this.scopes = scopes;
+    public Long getExpireTime() {
+        return expireTime;
     }
 
-    /**
-     * Checks if the access token is valid.
-     */
-    public boolean isValid() {
-        return expiresIn != null && Instant.now().getEpochSecond() < expireTime;
+    public String getRefreshToken() {
+        return refreshToken;
     }
 
-    /**
-     * Used to reset the object's fields when the token is revoked or
-     * when you try to refresh the token but it was not permanent.
-     *
-     * @param isAccessToken to specify what to reset
-     */
-    void revoke(boolean isAccessToken) {
-        if (isAccessToken) {
-            accessToken = null;
-            expiresIn = null;
-            expireTime = null;
-        } else {
-            refreshToken = null;
-        }
+    public boolean isPermanent() {
+        return permanent;
+    }
+
+    public List<Scopes> getScopes() {
+        return scopes;
     }
 }
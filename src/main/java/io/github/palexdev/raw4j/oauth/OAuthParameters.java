@@ -20,11 +20,20 @@ package io.github.palexdev.raw4j.oauth;
 
 import io.github.palexdev.raw4j.enums.LoginType;
 import io.github.palexdev.raw4j.enums.Scopes;
+import io.github.palexdev.raw4j.enums.endpoints.URLEnum;
+import io.github.palexdev.raw4j.http.DiskCachePolicy;
+import io.github.palexdev.raw4j.http.RequestListener;
+import io.github.palexdev.raw4j.http.ResponseCache;
+import io.github.palexdev.raw4j.http.RetryPolicy;
 import io.github.palexdev.raw4j.utils.ClientUtils;
+import io.github.palexdev.raw4j.utils.ExecutorUtils;
+import okhttp3.OkHttpClient;
 
+import java.io.File;
 import java.net.URL;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 /**
@@ -40,6 +49,22 @@ import java.util.function.Consumer;
  * <p> - the scopes
  * <p> - the action to perform to load an existing {@link OAuthInfo} (not for Scripts)
  * <p> - the action to perform to store an {@link OAuthInfo} (not for Scripts)
+ * <p> - the base {@link OkHttpClient} from which the flow derives its clients (optional, by default
+ * {@link ClientUtils#defaultHttpClient()} is used, so that all the flows share the same connection pool, but each
+ * flow has its own dispatcher. Flows built from the same client share its dispatcher and its concurrency limits)
+ * <p> - the {@link ResponseCache} for GET responses (optional, by default responses are not cached)
+ * <p> - whether expired cached responses should be revalidated with conditional requests (ETag/Last-Modified),
+ * by default false
+ * <p> - the directory and the max size in bytes of the on-disk HTTP cache (optional, by default there's no disk cache)
+ * <p> - the {@link DiskCachePolicy} which decides what is stored in the disk cache (by default {@link DiskCachePolicy#withDefaults()})
+ * <p> - whether the access token should be renewed in background before it expires, by default false
+ * <p> - the {@link RetryPolicy} for transient errors (by default a new {@link RetryPolicy}, use {@link RetryPolicy#none()}
+ * to disable retries)
+ * <p> - the {@link RequestListener} which observes every call (optional)
+ * <p> - the {@link Executor} used to run the batch helpers, the listings prefetching and the background token renewals
+ * (by default {@link ExecutorUtils#virtualThreads()})
+ * <p> - the base URL of the API and the base URL of the OAuth endpoints, to send the requests to a different host
+ * such as a proxy (by default the {@link URLEnum} URLs)
  * <p></p>
  * To obtain an instance of this class you must use the correct Builder according to your App:
  * {@link AppOnlyFlowBuilder}, {@link AuthCodeFlowBuilder}, {@link ScriptFlowBuilder}.
@@ -59,6 +84,18 @@ public class OAuthParameters {
     private List<Scopes> scopes;
     private Callable<OAuthInfo> loadAction;
     private Consumer<OAuthInfo> storeAction;
+    private OkHttpClient httpClient;
+    private ResponseCache responseCache;
+    private boolean conditionalRequests = false;
+    private File diskCacheDirectory;
+    private long diskCacheSize;
+    private DiskCachePolicy diskCachePolicy;
+    private boolean proactiveRenewal = false;
+    private RetryPolicy retryPolicy;
+    private RequestListener requestListener;
+    private Executor executor;
+    private String apiBaseURL;
+    private String authBaseURL;
 
     //================================================================================
     // Constructors
@@ -112,6 +149,54 @@ public class OAuthParameters {
         return loadAction;
     }
 
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public boolean isConditionalRequests() {
+        return conditionalRequests;
+    }
+
+    public File getDiskCacheDirectory() {
+        return diskCacheDirectory;
+    }
+
+    public long getDiskCacheSize() {
+        return diskCacheSize;
+    }
+
+    public DiskCachePolicy getDiskCachePolicy() {
+        return diskCachePolicy;
+    }
+
+    public boolean isProactiveRenewal() {
+        return proactiveRenewal;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public RequestListener getRequestListener() {
+        return requestListener;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public String getApiBaseURL() {
+        return apiBaseURL;
+    }
+
+    public String getAuthBaseURL() {
+        return authBaseURL;
+    }
+
     //================================================================================
     // Builders
     //================================================================================
@@ -161,6 +246,62 @@ public class OAuthParameters {
             return this;
         }
 
+        public AppOnlyFlowBuilder setHttpClient(OkHttpClient httpClient) {
+            parameters.httpClient = httpClient;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setResponseCache(ResponseCache responseCache) {
+            parameters.responseCache = responseCache;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setConditionalRequests(boolean conditionalRequests) {
+            parameters.conditionalRequests = conditionalRequests;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setDiskCache(File directory, long maxSize) {
+            parameters.diskCacheDirectory = directory;
+            parameters.diskCacheSize = maxSize;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setDiskCachePolicy(DiskCachePolicy diskCachePolicy) {
+            parameters.diskCachePolicy = diskCachePolicy;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setProactiveRenewal(boolean proactiveRenewal) {
+            parameters.proactiveRenewal = proactiveRenewal;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+            parameters.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setRequestListener(RequestListener requestListener) {
+            parameters.requestListener = requestListener;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setExecutor(Executor executor) {
+            parameters.executor = executor;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setApiBaseURL(String apiBaseURL) {
+            parameters.apiBaseURL = apiBaseURL;
+            return this;
+        }
+
+        public AppOnlyFlowBuilder setAuthBaseURL(String authBaseURL) {
+            parameters.authBaseURL = authBaseURL;
+            return this;
+        }
+
         /**
          * Returns an instance of {@link OAuthParameters} with the set parameters.
          * <p></p>
@@ -227,6 +368,62 @@ public class OAuthParameters {
             return this;
         }
 
+        public AuthCodeFlowBuilder setHttpClient(OkHttpClient httpClient) {
+            parameters.httpClient = httpClient;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setResponseCache(ResponseCache responseCache) {
+            parameters.responseCache = responseCache;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setConditionalRequests(boolean conditionalRequests) {
+            parameters.conditionalRequests = conditionalRequests;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setDiskCache(File directory, long maxSize) {
+            parameters.diskCacheDirectory = directory;
+            parameters.diskCacheSize = maxSize;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setDiskCachePolicy(DiskCachePolicy diskCachePolicy) {
+            parameters.diskCachePolicy = diskCachePolicy;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setProactiveRenewal(boolean proactiveRenewal) {
+            parameters.proactiveRenewal = proactiveRenewal;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+            parameters.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setRequestListener(RequestListener requestListener) {
+            parameters.requestListener = requestListener;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setExecutor(Executor executor) {
+            parameters.executor = executor;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setApiBaseURL(String apiBaseURL) {
+            parameters.apiBaseURL = apiBaseURL;
+            return this;
+        }
+
+        public AuthCodeFlowBuilder setAuthBaseURL(String authBaseURL) {
+            parameters.authBaseURL = authBaseURL;
+            return this;
+        }
+
         /**
          * Returns an instance of {@link OAuthParameters} with the set parameters.
          * <p></p>
@@ -280,6 +477,62 @@ public class OAuthParameters {
             return this;
         }
 
+        public ScriptFlowBuilder setHttpClient(OkHttpClient httpClient) {
+            parameters.httpClient = httpClient;
+            return this;
+        }
+
+        public ScriptFlowBuilder setResponseCache(ResponseCache responseCache) {
+            parameters.responseCache = responseCache;
+            return this;
+        }
+
+        public ScriptFlowBuilder setConditionalRequests(boolean conditionalRequests) {
+            parameters.conditionalRequests = conditionalRequests;
+            return this;
+        }
+
+        public ScriptFlowBuilder setDiskCache(File directory, long maxSize) {
+            parameters.diskCacheDirectory = directory;
+            parameters.diskCacheSize = maxSize;
+            return this;
+        }
+
+        public ScriptFlowBuilder setDiskCachePolicy(DiskCachePolicy diskCachePolicy) {
+            parameters.diskCachePolicy = diskCachePolicy;
+            return this;
+        }
+
+        public ScriptFlowBuilder setProactiveRenewal(boolean proactiveRenewal) {
+            parameters.proactiveRenewal = proactiveRenewal;
+            return this;
+        }
+
+        public ScriptFlowBuilder setRetryPolicy(RetryPolicy retryPolicy) {
+            parameters.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        public ScriptFlowBuilder setRequestListener(RequestListener requestListener) {
+            parameters.requestListener = requestListener;
+            return this;
+        }
+
+        public ScriptFlowBuilder setExecutor(Executor executor) {
+            parameters.executor = executor;
+            return this;
+        }
+
+        public ScriptFlowBuilder setApiBaseURL(String apiBaseURL) {
+            parameters.apiBaseURL = apiBaseURL;
+            return this;
+        }
+
+        public ScriptFlowBuilder setAuthBaseURL(String authBaseURL) {
+            parameters.authBaseURL = authBaseURL;
+            return this;
+        }
+
         /**
          * Returns an instance of {@link OAuthParameters} with the set parameters.
          * <p></p>
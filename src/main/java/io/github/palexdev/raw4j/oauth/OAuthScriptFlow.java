@@ -21,6 +21,7 @@ package io.github.palexdev.raw4j.oauth;
 import com.google.gson.JsonElement;
 import io.github.palexdev.raw4j.enums.endpoints.URLEnum;
 import io.github.palexdev.raw4j.exception.OAuthException;
+import io.github.palexdev.raw4j.json.GsonInstance.Profile;
 import io.github.palexdev.raw4j.oauth.base.AbstractOAuthFlow;
 import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
 import okhttp3.FormBody;
@@ -71,12 +72,12 @@ public class OAuthScriptFlow extends AbstractOAuthFlow {
                 .add("password", authData.getPassword())
                 .build();
 
-        JsonElement response = post(URLEnum.OAUTH_TOKEN_URL.toString(), requestBody);
-        authInfo = fromJson(response, OAuthInfo.class);
+        JsonElement response = post(authURL(URLEnum.OAUTH_TOKEN_URL), requestBody);
+        OAuthInfo authInfo = fromJson(response, OAuthInfo.class);
         if (response.toString().contains("invalid_grant")) {
-            throw new OAuthException("Response was: \n" + toJson(response) + "\nPlease check that the parameters are correct");
+            throw new OAuthException("Response was: \n" + toJson(response, Profile.PRETTY) + "\nPlease check that the parameters are correct");
         }
-        authInfo.setExpireTime(Instant.now().getEpochSecond() + authInfo.getExpiresIn() - getExpireSecondsOffset());
+        setAuthInfo(authInfo.withExpireTime(Instant.now().getEpochSecond() + authInfo.getExpiresIn() - getExpireSecondsOffset()));
         logger.debug("Token Retrieved");
     }
 
@@ -96,10 +97,14 @@ public class OAuthScriptFlow extends AbstractOAuthFlow {
 
     /**
      * Revokes the access token or the refresh token, depending on the passed boolean.
+     * <p>
+     * The {@link OAuthInfo} is marked as revoked only if it's still the one whose token has been sent,
+     * a token published in the meantime by a refresh is kept.
      */
     @Override
     protected void revokeToken(boolean isAccessToken) {
         logger.debug("Revoking token...");
+        OAuthInfo authInfo = getAuthInfo();
         String token = authInfo.getAccessToken();
         if (token == null || token.isBlank()) {
             return;
@@ -110,9 +115,12 @@ public class OAuthScriptFlow extends AbstractOAuthFlow {
                 .add("token_type_hint","access_token")
                 .build();
 
-        post(URLEnum.REVOKE_TOKEN_URL.toString(), requestBody);
-        authInfo.revoke(true);
-        logger.debug("Token revoked");
+        post(authURL(URLEnum.REVOKE_TOKEN_URL), requestBody);
+        if (compareAndSetAuthInfo(authInfo, authInfo.revoked(true))) {
+            logger.debug("Token revoked");
+        } else {
+            logger.debug("Token revoked, a new one had been published in the meantime");
+        }
     }
 
     //================================================================================
@@ -18,17 +18,46 @@
 
 package io.github.palexdev.raw4j.oauth.base;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+import io.github.palexdev.raw4j.enums.endpoints.URLEnum;
+import io.github.palexdev.raw4j.exception.HttpStatusException;
 import io.github.palexdev.raw4j.exception.OAuthException;
+import io.github.palexdev.raw4j.http.DiskCachePolicy;
+import io.github.palexdev.raw4j.http.RateLimiter;
+import io.github.palexdev.raw4j.http.RequestListener;
+import io.github.palexdev.raw4j.http.RequestMetrics;
+import io.github.palexdev.raw4j.http.ResponseCache;
+import io.github.palexdev.raw4j.http.RetryPolicy;
 import io.github.palexdev.raw4j.oauth.OAuthData;
 import io.github.palexdev.raw4j.oauth.OAuthInfo;
 import io.github.palexdev.raw4j.oauth.OAuthParameters;
+import io.github.palexdev.raw4j.utils.ClientUtils;
+import io.github.palexdev.raw4j.utils.EndpointUtils;
+import io.github.palexdev.raw4j.utils.ExecutorUtils;
+import io.github.palexdev.raw4j.utils.StringUtils;
 import okhttp3.*;
+import okio.BufferedSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
 
@@ -36,8 +65,19 @@ import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
  * This is the base class of all OAuth flows, implements {@link OAuthFlow}.
  * <p></p>
  * This class defines two separate {@link OkHttpClient}s, one for GET requests and one for POST/PATCH requests.
+ * Requests sent to the API are paced by a {@link RateLimiter} shared by both clients, and idempotent requests
+ * which fail because of transient errors are retried according to the {@link RetryPolicy}.
+ * Every call can be observed with a {@link RequestListener}.
+ * Batch helpers, listings prefetching and background renewals run on the {@link #getExecutor() executor},
+ * by default {@link ExecutorUtils#virtualThreads()}.
+ * GET responses of known endpoints can be cached by a {@link ResponseCache}, see {@link #get(Endpoints, String, Type)},
+ * and optionally revalidated with conditional requests once expired.
  * <p></p>
  * This class also keeps a reference for: {@link OAuthInfo}, {@link OAuthData} and {@link OAuthParameters}.
+ * The {@link OAuthInfo} is an immutable snapshot published atomically, readers never block, and expired tokens
+ * are refreshed by one caller at a time, see {@link #refreshAuthInfo(OAuthInfo)}.
+ * If {@link OAuthParameters#isProactiveRenewal()} is true tokens are renewed in background before they expire,
+ * see {@link #scheduleRenewal(OAuthInfo)}.
  * <p></p>
  * On Reddit the access token expire after 1h, to be sure a request is sent with an invalid token we make the
  * token expire after 57min (3min less, can be changed).
@@ -52,9 +92,22 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
     protected static final Logger logger = LoggerFactory.getLogger(OAuthFlow.class.getSimpleName());
     protected OkHttpClient getClient;
     protected OkHttpClient postClient;
+    protected final RateLimiter rateLimiter = new RateLimiter();
+    protected ResponseCache responseCache;
+    protected RetryPolicy retryPolicy;
+    protected volatile RequestListener requestListener;
+    protected Executor executor = ExecutorUtils.virtualThreads();
+    protected String apiBaseURL = URLEnum.OAUTH_API_BASE_URL.toString();
+    protected String authBaseURL;
+    private HttpUrl apiUrl = HttpUrl.get(apiBaseURL);
 
     protected final OAuthData authData;
-    protected OAuthInfo authInfo;
+    private final AtomicReference<OAuthInfo> authInfo = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<OAuthInfo>> refresh = new AtomicReference<>();
+    private final AtomicReference<ScheduledFuture<?>> renewal = new AtomicReference<>();
+    private final AtomicLong unauthorizedRetries = new AtomicLong();
+    private long renewalMarginSeconds = 30;
+    private long renewalJitterSeconds = 60;
     protected OAuthParameters parameters;
     private long expireSecondsOffset = 180;
 
@@ -63,14 +116,6 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
     //================================================================================
     public AbstractOAuthFlow() {
         authData = new OAuthData();
-
-        getClient = buildClient(null);
-        postClient = buildClient((route, response) -> {
-            String username = authData.getClientID();
-            String password = authData.getClientSecret() == null ? "" : authData.getClientSecret();
-            String credential = Credentials.basic(username, password);
-            return response.request().newBuilder().header("Authorization", credential).build();
-        });
     }
 
     //================================================================================
@@ -85,17 +130,33 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
     //================================================================================
 
     /**
-     * Utility method to build an {@link OkHttpClient} instance with the given authenticator
-     * and an interceptor that specifies the app User-Agent in the headers.
+     * Utility method to derive an {@link OkHttpClient} instance from the given base client, with the given authenticator,
+     * an interceptor that specifies the app User-Agent in the headers and an interceptor
+     * that paces API requests with the {@link RateLimiter}.
+     * <p>
+     * The derived client shares the connection pool and the dispatcher of the base client, the GET and POST clients
+     * of a flow are derived from the same base client, so they share the dispatcher's concurrency limits.
+     * <p>
+     * The rate limiter is a network interceptor, so responses served by a cache don't count towards the rate limit.
+     * <p>
+     * API requests rejected with a "401 Unauthorized" are retried once with a new token,
+     * see {@link #retryUnauthorized(Interceptor.Chain)}. Transient errors are handled by the {@link RetryPolicy},
+     * each retry goes through all the other interceptors again.
      */
-    protected OkHttpClient buildClient(Authenticator authenticator) {
+    protected OkHttpClient buildClient(OkHttpClient baseClient, Authenticator authenticator) {
         Interceptor interceptor = chain -> chain.proceed(
                 chain.request()
                         .newBuilder()
                         .addHeader("User-Agent", parameters.getUserAgent())
                         .build()
         );
-        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+        Interceptor rateLimitInterceptor = chain -> isApiRequest(chain.request()) ?
+                rateLimiter.intercept(chain) :
+                chain.proceed(chain.request());
+        OkHttpClient.Builder builder = baseClient.newBuilder()
+                .addInterceptor(retryPolicy)
+                .addInterceptor(this::retryUnauthorized)
+                .addNetworkInterceptor(rateLimitInterceptor)
                 .addNetworkInterceptor(interceptor);
 
         if (authenticator != null) {
@@ -104,6 +165,461 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
         return builder.build();
     }
 
+    /**
+     * Derives a new {@link OkHttpClient} from the given one which stores the responses allowed by the
+     * {@link DiskCachePolicy} in the on-disk cache specified by the {@link OAuthParameters}.
+     * The endpoints are matched relative to the path of the API base URL, see {@link DiskCachePolicy#forBasePath(String)}.
+     * <p>
+     * If no cache directory has been specified the given client is returned.
+     */
+    protected OkHttpClient withDiskCache(OkHttpClient client) {
+        if (parameters.getDiskCacheDirectory() == null) {
+            return client;
+        }
+
+        DiskCachePolicy policy = parameters.getDiskCachePolicy() != null ? parameters.getDiskCachePolicy() : DiskCachePolicy.withDefaults();
+        return client.newBuilder()
+                .cache(ClientUtils.diskCache(parameters.getDiskCacheDirectory(), parameters.getDiskCacheSize()))
+                .addNetworkInterceptor(policy.forBasePath(apiUrl.encodedPath()))
+                .build();
+    }
+
+    /**
+     * Interceptor for API requests which handles tokens revoked or expired server-side before their expire time.
+     * <p>
+     * If the response code is 401 and the request was sent with the current access token, the token is refreshed
+     * with {@link #refreshAuthInfo(OAuthInfo)}, so concurrent rejected requests share the same refresh. If the token
+     * had already been replaced the new one is used directly. The request is then replayed once with the new token.
+     * <p>
+     * Retries are counted, see {@link #getUnauthorizedRetries()}.
+     */
+    protected Response retryUnauthorized(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        String authorization = request.header("Authorization");
+        if (response.code() != 401 || !isApiRequest(request) ||
+                authorization == null || !authorization.startsWith("Bearer ") ||
+                (request.body() != null && request.body().isOneShot())) {
+            return response;
+        }
+
+        OAuthInfo current = getAuthInfo();
+        OAuthInfo refreshed = current != null && authorization.equals("Bearer " + current.getAccessToken()) ?
+                refreshAuthInfo(current) :
+                current;
+        if (refreshed == null || refreshed.getAccessToken() == null || authorization.equals("Bearer " + refreshed.getAccessToken())) {
+            return response;
+        }
+
+        logger.debug("Request was unauthorized, retrying with a new token: [" + request.url() + "]");
+        unauthorizedRetries.incrementAndGet();
+        response.close();
+        return chain.proceed(request.newBuilder()
+                .header("Authorization", "Bearer " + refreshed.getAccessToken())
+                .build()
+        );
+    }
+
+    /**
+     * @return whether the given request is sent to the API (and so it counts towards the rate limit)
+     * or to the OAuth endpoints
+     */
+    protected boolean isApiRequest(Request request) {
+        return request.url().host().equals(apiUrl.host()) && request.url().port() == apiUrl.port();
+    }
+
+    /**
+     * @return the URL of the given OAuth endpoint, which is the {@link URLEnum} URL or, if an auth base URL
+     * has been specified, see {@link OAuthParameters#getAuthBaseURL()}, the same path on that base URL
+     */
+    protected String authURL(URLEnum url) {
+        if (authBaseURL == null) {
+            return url.toString();
+        }
+        return authBaseURL + HttpUrl.get(url.getDefaultURL()).encodedPath();
+    }
+
+    /**
+     * @return the current {@link OAuthInfo} if valid, otherwise refreshes the token with
+     * {@link #refreshAuthInfo(OAuthInfo)} and returns the new one
+     */
+    protected OAuthInfo ensureValidToken() {
+        OAuthInfo current = authInfo.get();
+        if (current != null && current.isValid()) {
+            return current;
+        }
+        return refreshAuthInfo(current);
+    }
+
+    /**
+     * Asynchronous version of {@link #ensureValidToken()}.
+     * <p>
+     * If the current token is valid the returned future is already completed. Otherwise, the caller gets the in-flight
+     * refresh, if any, or a new refresh is started on the {@link #getExecutor() executor}, so the caller is never blocked.
+     * The refresh is still single-flight with the blocking callers, see {@link #refreshAuthInfo(OAuthInfo)}.
+     */
+    protected CompletableFuture<OAuthInfo> ensureValidTokenAsync() {
+        OAuthInfo current = authInfo.get();
+        if (current != null && current.isValid()) {
+            return CompletableFuture.completedFuture(current);
+        }
+
+        CompletableFuture<OAuthInfo> inFlight = refresh.get();
+        if (inFlight != null) {
+            return inFlight;
+        }
+        return CompletableFuture.supplyAsync(() -> refreshAuthInfo(current), executor);
+    }
+
+    /**
+     * Single-flight token refresh.
+     * <p>
+     * Only one refresh at a time is performed, concurrent callers wait for the in-flight one and get its result.
+     * The refresh is skipped if the current {@link OAuthInfo} is not the given stale one anymore, which means that
+     * another caller already replaced it.
+     * <p></p>
+     * The hot path, {@link #ensureValidToken()} with a valid token, never blocks.
+     *
+     * @param stale the {@link OAuthInfo} the caller found to be invalid
+     * @return the new {@link OAuthInfo}
+     */
+    protected OAuthInfo refreshAuthInfo(OAuthInfo stale) {
+        CompletableFuture<OAuthInfo> flight = new CompletableFuture<>();
+        CompletableFuture<OAuthInfo> inFlight = refresh.compareAndExchange(null, flight);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+
+        try {
+            if (authInfo.get() == stale) {
+                refreshToken();
+            }
+            flight.complete(authInfo.get());
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            refresh.set(null);
+        }
+        return flight.join();
+    }
+
+    /**
+     * Schedules the renewal of the given {@link OAuthInfo} on {@link ExecutorUtils#scheduled()}, replacing any
+     * previously scheduled renewal.
+     * <p>
+     * The token is renewed between {@link #getRenewalMarginSeconds()} and {@link #getRenewalMarginSeconds()} +
+     * {@link #getRenewalJitterSeconds()} seconds before its expire time. The random jitter prevents many clients
+     * created at the same time from renewing all at once.
+     * <p>
+     * The scheduler is only used for timing, the refresh itself runs asynchronously through
+     * {@link #refreshAuthInfo(OAuthInfo)}, so it's still single-flight with the requests. The new {@link OAuthInfo}
+     * schedules the next renewal when set, see {@link #setAuthInfo(OAuthInfo)}.
+     * <p></p>
+     * If the given info has no expire time (e.g. the token has been revoked) the renewal is just cancelled.
+     */
+    protected void scheduleRenewal(OAuthInfo authInfo) {
+        ScheduledFuture<?> next = null;
+        if (authInfo != null && authInfo.getExpireTime() != null) {
+            long jitter = renewalJitterSeconds > 0 ? ThreadLocalRandom.current().nextLong(renewalJitterSeconds + 1) : 0;
+            long delay = Math.max(0, authInfo.getExpireTime() - Instant.now().getEpochSecond() - renewalMarginSeconds - jitter);
+            next = ExecutorUtils.scheduled().schedule(() -> renew(authInfo), delay, TimeUnit.SECONDS);
+        }
+
+        ScheduledFuture<?> previous = renewal.getAndSet(next);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Renews the given {@link OAuthInfo} asynchronously, failures are only logged since expired tokens
+     * are still refreshed by the requests.
+     */
+    private void renew(OAuthInfo authInfo) {
+        CompletableFuture.runAsync(() -> refreshAuthInfo(authInfo), executor)
+                .exceptionally(ex -> {
+                    logger.warn("Background token renewal failed, cause was: " + ex.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Builds an HTTP GET request for the given URL, refreshing the token first if it's not valid anymore.
+     */
+    protected Request buildGetRequest(String url) {
+        return buildGetRequest(HttpUrl.get(url));
+    }
+
+    /**
+     * Same as {@link #buildGetRequest(String)} but for an already parsed URL.
+     */
+    protected Request buildGetRequest(HttpUrl url) {
+        return buildGetRequest(url, ensureValidToken());
+    }
+
+    /**
+     * Builds an HTTP GET request for the given URL, authorized with the given {@link OAuthInfo}.
+     */
+    protected Request buildGetRequest(HttpUrl url, OAuthInfo authInfo) {
+        return new Request.Builder()
+                .header("User-Agent", parameters.getUserAgent())
+                .header("Authorization", "Bearer " + authInfo.getAccessToken())
+                .url(url)
+                .build();
+    }
+
+    /**
+     * Binds the given response body to the given type by reading directly from its
+     * {@link ResponseBody#charStream()}, so that neither the body string nor a
+     * {@link JsonElement} tree are built.
+     */
+    protected <T> T bind(ResponseBody body, Type type) throws IOException {
+        try (JsonReader reader = new JsonReader(body.charStream())) {
+            return fromJson(reader, type);
+        }
+    }
+
+    /**
+     * Same as {@link #bind(ResponseBody, Type)} but also measures the read and bind phases with the given
+     * {@link CallMetrics}.
+     * <p>
+     * The status code is checked first, the body of a non-successful response is not bound.
+     *
+     * @throws HttpStatusException if the response is not successful
+     */
+    protected <T> T bind(Response response, Type type, CallMetrics metrics) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new HttpStatusException(response.code(), response.request().url().toString());
+        }
+        metrics.read(response.body());
+        T object = bind(response.body(), type);
+        metrics.bound();
+        return object;
+    }
+
+    /**
+     * Reads the body of the given response as a String, measuring the read phase with the given {@link CallMetrics}.
+     */
+    protected String readString(Response response, CallMetrics metrics) throws IOException {
+        metrics.read(response.body());
+        return response.body().string();
+    }
+
+    /**
+     * Executes the given request with the given client and converts the response with the given {@link ResponseConverter}.
+     * <p>
+     * The call is measured and reported to the {@link RequestListener}, if any, both if it succeeds and if it fails.
+     */
+    protected <T> T execute(OkHttpClient client, Request request, ResponseConverter<T> converter) throws IOException {
+        CallMetrics metrics = new CallMetrics(request);
+        try (Response response = client.newCall(request).execute()) {
+            metrics.responded(response);
+            T result = converter.convert(response, metrics);
+            metrics.report(null);
+            return result;
+        } catch (IOException | RuntimeException ex) {
+            metrics.report(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Enqueues an HTTP GET request for the given URL and converts the response body
+     * with the given {@link BodyConverter}.
+     * <p>
+     * The caller thread is never blocked: if the token has to be refreshed the request is enqueued once the refresh
+     * completes, see {@link #ensureValidTokenAsync()}. API requests are enqueued once the {@link RateLimiter} grants
+     * a token, see {@link RateLimiter#acquireAsync()}, so the dispatcher threads are not blocked either.
+     * For the same reason transient errors are retried by scheduling the next attempt rather than by the
+     * {@link RetryPolicy} interceptor, see {@link RetryPolicy#deferred(Request)}.
+     * The returned future is completed by OkHttp's dispatcher threads.
+     * <p>
+     * Cancelling the returned future also cancels the underlying {@link Call}.
+     */
+    protected <T> CompletableFuture<T> enqueueGet(String url, BodyConverter<T> converter) {
+        HttpUrl httpUrl = HttpUrl.get(url);
+        return enqueueGet(url, authInfo -> buildGetRequest(httpUrl, authInfo), (response, metrics) -> {
+            metrics.read(response.body());
+            T result = converter.convert(response.body());
+            metrics.bound();
+            return result;
+        });
+    }
+
+    /**
+     * Same as {@link #enqueueGet(String, BodyConverter)} but sends the request built by the given factory from a valid
+     * {@link OAuthInfo}, and converts the whole {@link Response} with the given {@link ResponseConverter}, so that
+     * status code and headers can be inspected.
+     * <p>
+     * The call is measured and reported to the {@link RequestListener}, if any.
+     */
+    protected <T> CompletableFuture<T> enqueueGet(String url, Function<OAuthInfo, Request> requestFactory, ResponseConverter<T> converter) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ensureValidTokenAsync().whenComplete((authInfo, ex) -> {
+            if (ex != null) {
+                logger.error("GET failed for: [" + url + "]");
+                logger.error("Token refresh failed, cause was: " + ex.getMessage());
+                future.completeExceptionally(ex);
+            } else if (!future.isDone()) {
+                Request request = RetryPolicy.deferred(requestFactory.apply(authInfo));
+                acquireAndEnqueue(url, request, 1, converter, new CallMetrics(request), future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Enqueues the given attempt of the given request, API requests are enqueued once the {@link RateLimiter}
+     * grants a token, so that the wait happens here rather than in the dispatcher threads.
+     */
+    private <T> void acquireAndEnqueue(String url, Request request, int attempt, ResponseConverter<T> converter, CallMetrics metrics, CompletableFuture<T> future) {
+        if (!isApiRequest(request)) {
+            enqueue(url, request, attempt, converter, metrics, future);
+            return;
+        }
+
+        rateLimiter.acquireAsync().thenAccept(permit -> {
+            if (!future.isDone()) {
+                enqueue(url, request.newBuilder().tag(RateLimiter.Permit.class, permit).build(), attempt, converter, metrics, future);
+            }
+        });
+    }
+
+    /**
+     * Schedules the next attempt of the given request after the given delay, see {@link RetryPolicy#retryDelay(Request, int, Response, IOException)}.
+     * The attempt goes through the rate limiter again, since the permit of the failed one has been used.
+     */
+    private <T> void retryLater(String url, Request request, int attempt, Duration delay, ResponseConverter<T> converter, CallMetrics metrics, CompletableFuture<T> future) {
+        logger.debug("Retrying in " + delay.toMillis() + "ms: [" + url + "]");
+        ExecutorUtils.scheduled().schedule(() -> {
+            if (!future.isDone()) {
+                acquireAndEnqueue(url, request, attempt + 1, converter, metrics, future);
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Enqueues the given request, the result of the given {@link ResponseConverter} completes the given future.
+     * Cancelling the future also cancels the {@link Call}.
+     * <p>
+     * Attempts which fail with a transient error are retried according to the {@link RetryPolicy}, without
+     * blocking the dispatcher thread, see {@link #retryLater(String, Request, int, Duration, ResponseConverter, CallMetrics, CompletableFuture)}.
+     */
+    private <T> void enqueue(String url, Request request, int attempt, ResponseConverter<T> converter, CallMetrics metrics, CompletableFuture<T> future) {
+        Call call = getClient.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException ex) {
+                Duration delay = call.isCanceled() ? null : retryPolicy.retryDelay(request, attempt, null, ex);
+                if (delay != null) {
+                    retryLater(url, request, attempt, delay, converter, metrics, future);
+                    return;
+                }
+
+                metrics.report(ex);
+                logger.error("GET failed for: [" + url + "]");
+                logger.error("Exception was: " + ex.getMessage());
+                future.completeExceptionally(ex);
+            }
+
+            @SuppressWarnings("ConstantConditions")
+            @Override
+            public void onResponse(Call call, Response response) {
+                Duration delay = retryPolicy.retryDelay(request, attempt, response, null);
+                if (delay != null) {
+                    response.close();
+                    retryLater(url, request, attempt, delay, converter, metrics, future);
+                    return;
+                }
+
+                try (response) {
+                    metrics.responded(response);
+                    T result = converter.convert(response, metrics);
+                    metrics.report(null);
+                    future.complete(result);
+                } catch (JsonParseException | IOException ex) {
+                    metrics.report(ex);
+                    logger.error("GET failed for: [" + url + "]");
+                    logger.error("Exception was: " + ex.getMessage());
+                    future.completeExceptionally(ex);
+                }
+            }
+        });
+        future.whenComplete((result, ex) -> {
+            if (ex instanceof CancellationException) {
+                call.cancel();
+            }
+        });
+    }
+
+    /**
+     * Builds an HTTP GET request for the given URL, see {@link #buildGetRequest(String)}, adding the
+     * "If-None-Match" and "If-Modified-Since" headers from the validators of the given stale response (if not null).
+     */
+    protected Request buildConditionalRequest(String url, ResponseCache.Stale<?> stale) {
+        return buildConditionalRequest(url, stale, ensureValidToken());
+    }
+
+    /**
+     * Same as {@link #buildConditionalRequest(String, ResponseCache.Stale)} but the request is authorized
+     * with the given {@link OAuthInfo}.
+     */
+    protected Request buildConditionalRequest(String url, ResponseCache.Stale<?> stale, OAuthInfo authInfo) {
+        Request request = buildGetRequest(HttpUrl.get(url), authInfo);
+        if (stale == null) {
+            return request;
+        }
+
+        Request.Builder builder = request.newBuilder();
+        if (stale.eTag() != null) {
+            builder.header("If-None-Match", stale.eTag());
+        }
+        if (stale.lastModified() != null) {
+            builder.header("If-Modified-Since", stale.lastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Binds the given response, see {@link #bind(Response, Type, CallMetrics)}, and stores the object
+     * in the {@link ResponseCache}. Only successful responses are cached.
+     */
+    protected <T> T bindAndCache(Endpoints endpoint, String url, Type type, Response response, CallMetrics metrics) throws IOException {
+        T object = bind(response, type, metrics);
+        if (response.isSuccessful()) {
+            responseCache.put(endpoint, url, type, object);
+        }
+        return object;
+    }
+
+    /**
+     * Handles the response of a conditional request built by {@link #buildConditionalRequest(String, ResponseCache.Stale)},
+     * the phases are measured with the given {@link CallMetrics}.
+     * <p>
+     * On a "304 Not Modified" the stale object is renewed in the {@link ResponseCache} and returned, the body is not read.
+     * On a server error (5xx) the stale object, if any, is returned as is, so it will be revalidated again by the next request.
+     * Otherwise, the body of a successful response is bound to the given type and cached along with the new validators.
+     *
+     * @throws HttpStatusException if the response is not successful and the stale object cannot be used
+     */
+    protected <T> T handleConditionalResponse(Endpoints endpoint, String url, Type type, ResponseCache.Stale<T> stale, Response response, CallMetrics metrics) throws IOException {
+        if (stale != null && response.code() == 304) {
+            responseCache.revalidated(url, type);
+            return stale.value();
+        }
+        if (stale != null && response.code() >= 500) {
+            logger.warn("Revalidation failed for: [" + url + "] with code " + response.code() + ", using the stale response");
+            return stale.value();
+        }
+
+        T object = bind(response, type, metrics);
+        if (response.isSuccessful()) {
+            responseCache.put(endpoint, url, type, object, response.header("ETag"), response.header("Last-Modified"));
+        }
+        return object;
+    }
+
     //================================================================================
     // Override Methods
     //================================================================================
@@ -113,13 +629,11 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
         String responseBody = "";
         try {
             Request request = new Request.Builder()
-                    .header("Authorization", "Bearer " + authInfo.getAccessToken())
+                    .header("Authorization", "Bearer " + getAuthInfo().getAccessToken())
                     .url(url)
                     .delete()
                     .build();
-            Call call = postClient.newCall(request);
-            Response response = call.execute();
-            responseBody = response.body().string();
+            responseBody = execute(postClient, request, this::readString);
             object = fromJson(responseBody, JsonObject.class);
         } catch (IOException ex) {
             logger.error("POST failed for: [" + url + "]");
@@ -130,51 +644,72 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
         return object;
     }
 
-    @SuppressWarnings("ConstantConditions")
     @Override
     public JsonObject get(String url) {
-        JsonObject object = null;
-        String responseBody = "";
+        return get(url, JsonObject.class);
+    }
+
+    @Override
+    public <T> T get(String url, Type type) {
+        return get(HttpUrl.get(url), type);
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    @Override
+    public <T> T get(HttpUrl url, Type type) {
+        T object = null;
         try {
-            if (!authInfo.isValid()) {
-                refreshToken();
-            }
+            object = execute(getClient, buildGetRequest(url), (response, metrics) -> bind(response, type, metrics));
+        } catch (JsonParseException | IOException ex) {
+            logger.error("GET failed for: [" + url + "]");
+            logger.error("Exception was: ");
+            ex.printStackTrace();
+        }
+        return object;
+    }
 
-            Request request = new Request.Builder()
-                    .header("User-Agent", parameters.getUserAgent())
-                    .header("Authorization", "Bearer " + authInfo.getAccessToken())
-                    .url(url)
-                    .build();
-            Call call = getClient.newCall(request);
-            Response response = call.execute();
-            responseBody = response.body().string();
-            object = fromJson(responseBody, JsonObject.class);
-        } catch (IOException ex) {
+    @Override
+    public <T> T get(Endpoints endpoint, String url, Type type) {
+        T object = null;
+        try {
+            object = getChecked(endpoint, url, type);
+        } catch (JsonParseException | IOException ex) {
             logger.error("GET failed for: [" + url + "]");
-            logger.error("Body was: \n" + responseBody);
             logger.error("Exception was: ");
             ex.printStackTrace();
         }
         return object;
     }
 
+    @SuppressWarnings("ConstantConditions")
+    @Override
+    public <T> T getChecked(Endpoints endpoint, String url, Type type) throws IOException {
+        if (responseCache == null || !responseCache.isCacheable(endpoint)) {
+            return execute(getClient, buildGetRequest(url), (response, metrics) -> bind(response, type, metrics));
+        }
+
+        T cached = responseCache.get(url, type);
+        if (cached != null) {
+            return cached;
+        }
+        if (!parameters.isConditionalRequests()) {
+            return execute(getClient, buildGetRequest(url), (response, metrics) ->
+                    bindAndCache(endpoint, url, type, response, metrics)
+            );
+        }
+
+        ResponseCache.Stale<T> stale = responseCache.getStale(url, type);
+        return execute(getClient, buildConditionalRequest(url, stale), (response, metrics) ->
+                handleConditionalResponse(endpoint, url, type, stale, response, metrics)
+        );
+    }
+
     @Override
     public Boolean getBoolean(String url) {
         Boolean bool = null;
         String responseBody = "";
         try {
-            if (!authInfo.isValid()) {
-                refreshToken();
-            }
-
-            Request request = new Request.Builder()
-                    .header("User-Agent", parameters.getUserAgent())
-                    .header("Authorization", "Bearer " + authInfo.getAccessToken())
-                    .url(url)
-                    .build();
-            Call call = getClient.newCall(request);
-            Response response = call.execute();
-            responseBody = response.body().string();
+            responseBody = execute(getClient, buildGetRequest(url), this::readString);
             bool = Boolean.parseBoolean(responseBody);
         } catch (IOException ex) {
             logger.error("GET failed for: [" + url + "]");
@@ -185,25 +720,64 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
         return bool;
     }
 
+    @Override
+    public CompletableFuture<JsonObject> getAsync(String url) {
+        return getAsync(url, JsonObject.class);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String url, Type type) {
+        return getAsync(HttpUrl.get(url), type);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(HttpUrl url, Type type) {
+        return enqueueGet(url.toString(), authInfo -> buildGetRequest(url, authInfo), (response, metrics) -> bind(response, type, metrics));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(Endpoints endpoint, String url, Type type) {
+        if (responseCache == null || !responseCache.isCacheable(endpoint)) {
+            return getAsync(url, type);
+        }
+
+        T cached = responseCache.get(url, type);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (!parameters.isConditionalRequests()) {
+            HttpUrl httpUrl = HttpUrl.get(url);
+            return enqueueGet(url, authInfo -> buildGetRequest(httpUrl, authInfo), (response, metrics) ->
+                    bindAndCache(endpoint, url, type, response, metrics)
+            );
+        }
+
+        ResponseCache.Stale<T> stale = responseCache.getStale(url, type);
+        return enqueueGet(url, authInfo -> buildConditionalRequest(url, stale, authInfo), (response, metrics) ->
+                handleConditionalResponse(endpoint, url, type, stale, response, metrics)
+        );
+    }
+
+    @Override
+    public CompletableFuture<Boolean> getBooleanAsync(String url) {
+        HttpUrl httpUrl = HttpUrl.get(url);
+        return enqueueGet(url, authInfo -> buildGetRequest(httpUrl, authInfo), (response, metrics) -> Boolean.parseBoolean(readString(response, metrics)));
+    }
+
     @SuppressWarnings("ConstantConditions")
     @Override
     public JsonObject patch(String url, RequestBody requestBody) {
         JsonObject object = null;
         String responseBody = "";
         try {
-            if (!authInfo.isValid()) {
-                refreshToken();
-            }
-
+            OAuthInfo authInfo = ensureValidToken();
             Request request = new Request.Builder()
                     .header("User-Agent", parameters.getUserAgent())
                     .header("Authorization", "Bearer " + authInfo.getAccessToken())
                     .url(url)
                     .patch(requestBody)
                     .build();
-            Call call = postClient.newCall(request);
-            Response response = call.execute();
-            responseBody = response.body().string();
+            responseBody = execute(postClient, request, this::readString);
             object = fromJson(responseBody, JsonObject.class);
         } catch (JsonSyntaxException | IOException ex) {
             logger.error("PATCH failed for: [" + url + "]");
@@ -222,13 +796,12 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
             Request.Builder requestBuilder = new Request.Builder()
                     .url(url)
                     .post(requestBody);
+            OAuthInfo authInfo = getAuthInfo();
             if (authInfo != null) {
                 requestBuilder.header("Authorization", "Bearer " + authInfo.getAccessToken());
             }
             Request request = requestBuilder.build();
-            Call call = postClient.newCall(request);
-            Response response = call.execute();
-            responseBody = response.body().string();
+            responseBody = execute(postClient, request, this::readString);
             object = fromJson(responseBody, JsonObject.class);
         } catch (IOException ex) {
             logger.error("POST failed for: [" + url + "]");
@@ -245,13 +818,11 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
         String responseBody = "";
         try {
             Request request = new Request.Builder()
-                    .header("Authorization", "Bearer " + authInfo.getAccessToken())
+                    .header("Authorization", "Bearer " + getAuthInfo().getAccessToken())
                     .url(url)
                     .put(requestBody)
                     .build();
-            Call call = postClient.newCall(request);
-            Response response = call.execute();
-            responseBody = response.body().string();
+            responseBody = execute(postClient, request, this::readString);
             object = fromJson(responseBody, JsonObject.class);
         } catch (IOException ex) {
             logger.error("POST failed for: [" + url + "]");
@@ -282,7 +853,111 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
 
     @Override
     public OAuthInfo getAuthInfo() {
-        return authInfo;
+        return authInfo.get();
+    }
+
+    /**
+     * Atomically publishes the given {@link OAuthInfo}.
+     * <p>
+     * If proactive renewal is enabled also schedules its renewal, see {@link #scheduleRenewal(OAuthInfo)}.
+     */
+    protected void setAuthInfo(OAuthInfo authInfo) {
+        this.authInfo.set(authInfo);
+        if (parameters != null && parameters.isProactiveRenewal()) {
+            scheduleRenewal(authInfo);
+        }
+    }
+
+    /**
+     * Atomically publishes the given {@link OAuthInfo} only if the current one is still the expected one,
+     * so that an info derived from a stale one (e.g. revoked after a blocking request) doesn't replace a token
+     * published in the meantime by a refresh or a background renewal.
+     * <p>
+     * If proactive renewal is enabled also schedules its renewal, see {@link #scheduleRenewal(OAuthInfo)}.
+     *
+     * @return whether the info has been published
+     */
+    protected boolean compareAndSetAuthInfo(OAuthInfo expected, OAuthInfo authInfo) {
+        if (!this.authInfo.compareAndSet(expected, authInfo)) {
+            return false;
+        }
+        if (parameters != null && parameters.isProactiveRenewal()) {
+            scheduleRenewal(authInfo);
+        }
+        return true;
+    }
+
+    /**
+     * The minimum seconds before the expire time at which the token is renewed in background, by default 30s.
+     */
+    protected long getRenewalMarginSeconds() {
+        return renewalMarginSeconds;
+    }
+
+    /**
+     * Sets the minimum seconds before the expire time at which the token is renewed in background.
+     */
+    protected void setRenewalMarginSeconds(long renewalMarginSeconds) {
+        this.renewalMarginSeconds = Math.abs(renewalMarginSeconds);
+    }
+
+    /**
+     * The max random seconds added to the renewal margin, by default 60s.
+     */
+    protected long getRenewalJitterSeconds() {
+        return renewalJitterSeconds;
+    }
+
+    /**
+     * Sets the max random seconds added to the renewal margin.
+     */
+    protected void setRenewalJitterSeconds(long renewalJitterSeconds) {
+        this.renewalJitterSeconds = Math.abs(renewalJitterSeconds);
+    }
+
+    @Override
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    @Override
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    @Override
+    public RequestListener getRequestListener() {
+        return requestListener;
+    }
+
+    @Override
+    public void setRequestListener(RequestListener requestListener) {
+        this.requestListener = requestListener;
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public String getApiBaseURL() {
+        return apiBaseURL;
+    }
+
+    @Override
+    public String getAuthBaseURL() {
+        return authBaseURL;
+    }
+
+    @Override
+    public long getUnauthorizedRetries() {
+        return unauthorizedRetries.get();
     }
 
     @Override
@@ -298,9 +973,30 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
     /**
      * Since we rely on builder classes and no-arg constructor to build an OAuthFlow instance,
      * this is needed to set the authentication parameters specified by the user.
+     * <p>
+     * The {@link ResponseCache}, the {@link RetryPolicy}, the {@link RequestListener}, the {@link Executor} and the base URLs
+     * are also set here, and the GET and POST clients are derived from
+     * {@link OAuthParameters#getHttpClient()}, or from {@link ClientUtils#defaultHttpClient()} if not specified.
+     * The GET client also uses the disk cache, if any, see {@link #withDiskCache(OkHttpClient)}.
      */
     protected void setParameters(OAuthParameters parameters) {
         this.parameters = parameters;
+        this.responseCache = parameters.getResponseCache();
+        this.retryPolicy = parameters.getRetryPolicy() != null ? parameters.getRetryPolicy() : new RetryPolicy();
+        this.requestListener = parameters.getRequestListener();
+        this.executor = parameters.getExecutor() != null ? parameters.getExecutor() : ExecutorUtils.virtualThreads();
+        this.apiBaseURL = StringUtils.removeTrailingSlash(parameters.getApiBaseURL() != null ? parameters.getApiBaseURL() : URLEnum.OAUTH_API_BASE_URL.toString());
+        this.authBaseURL = parameters.getAuthBaseURL() != null ? StringUtils.removeTrailingSlash(parameters.getAuthBaseURL()) : null;
+        this.apiUrl = HttpUrl.get(apiBaseURL);
+
+        OkHttpClient baseClient = parameters.getHttpClient() != null ? parameters.getHttpClient() : ClientUtils.defaultHttpClient();
+        getClient = withDiskCache(buildClient(baseClient, null));
+        postClient = buildClient(baseClient, (route, response) -> {
+            String username = authData.getClientID();
+            String password = authData.getClientSecret() == null ? "" : authData.getClientSecret();
+            String credential = Credentials.basic(username, password);
+            return response.request().newBuilder().header("Authorization", credential).build();
+        });
     }
 
     //================================================================================
@@ -326,4 +1022,108 @@ public abstract class AbstractOAuthFlow implements OAuthFlow {
         public abstract AbstractOAuthFlow from(OAuthParameters parameters);
         protected abstract OAuthFlow getOAuthManager();
     }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * Functional interface used by {@link #enqueueGet(String, BodyConverter)} to convert
+     * a {@link ResponseBody} to the desired type.
+     */
+    @FunctionalInterface
+    protected interface BodyConverter<T> {
+        T convert(ResponseBody body) throws IOException;
+    }
+
+    /**
+     * Converts the {@link Response} of a request, see {@link #execute(OkHttpClient, Request, ResponseConverter)} and
+     * {@link #enqueueGet(String, Function, ResponseConverter)}. The read and bind phases should be measured with the
+     * given {@link CallMetrics}.
+     */
+    @FunctionalInterface
+    protected interface ResponseConverter<T> {
+        T convert(Response response, CallMetrics metrics) throws IOException;
+    }
+
+    /**
+     * Measures the phases of a call and reports them to the {@link RequestListener}.
+     * <p>
+     * If there's no listener nothing is measured and the response body is not read in advance.
+     */
+    protected final class CallMetrics {
+        private final Request request;
+        private final RequestListener listener = requestListener;
+        private long mark = System.nanoTime();
+        private long network;
+        private long read;
+        private long bind;
+        private long bytes = -1;
+        private Response response;
+
+        public CallMetrics(Request request) {
+            this.request = request;
+        }
+
+        /**
+         * Marks the end of the network phase.
+         */
+        public void responded(Response response) {
+            this.response = response;
+            network = lap();
+        }
+
+        /**
+         * Reads the whole given body in memory, marking the end of the read phase.
+         */
+        public void read(ResponseBody body) throws IOException {
+            if (listener == null) return;
+            BufferedSource source = body.source();
+            source.request(Long.MAX_VALUE);
+            bytes = source.getBuffer().size();
+            read = lap();
+        }
+
+        /**
+         * Marks the end of the bind phase.
+         */
+        public void bound() {
+            bind = lap();
+        }
+
+        /**
+         * Reports the call to the {@link RequestListener}.
+         *
+         * @param error the exception which made the call fail, null if successful
+         */
+        public void report(Throwable error) {
+            if (listener == null) return;
+            if (response == null) {
+                network = lap();
+            }
+
+            RequestMetrics metrics = new RequestMetrics(
+                    EndpointUtils.resolve(request.url(), apiUrl.encodedPath()),
+                    request.method(),
+                    request.url().toString(),
+                    response != null ? response.code() : -1,
+                    response != null && response.networkResponse() == null && response.cacheResponse() != null,
+                    bytes,
+                    network, read, bind,
+                    error
+            );
+            try {
+                listener.onRequest(metrics);
+            } catch (RuntimeException ex) {
+                logger.warn("RequestListener failed, cause was: " + ex.getMessage());
+            }
+        }
+
+        private long lap() {
+            long now = System.nanoTime();
+            long lap = now - mark;
+            mark = now;
+            return lap;
+        }
+    }
 }
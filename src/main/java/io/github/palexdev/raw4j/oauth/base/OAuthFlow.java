@@ -19,13 +19,27 @@
 package io.github.palexdev.raw4j.oauth.base;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import io.github.palexdev.raw4j.api.UserApi;
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+import io.github.palexdev.raw4j.enums.endpoints.URLEnum;
+import io.github.palexdev.raw4j.exception.HttpStatusException;
 import io.github.palexdev.raw4j.exception.OAuthException;
+import io.github.palexdev.raw4j.http.RateLimiter;
+import io.github.palexdev.raw4j.http.RequestListener;
+import io.github.palexdev.raw4j.http.ResponseCache;
+import io.github.palexdev.raw4j.http.RetryPolicy;
 import io.github.palexdev.raw4j.oauth.OAuthData;
 import io.github.palexdev.raw4j.oauth.OAuthInfo;
 import io.github.palexdev.raw4j.oauth.OAuthParameters;
+import okhttp3.HttpUrl;
 import okhttp3.RequestBody;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Public API that all OAuth flows must implement.
  */
@@ -54,6 +68,50 @@ public interface OAuthFlow {
      */
     JsonObject get(String url);
 
+    /**
+     * Executes an HTTP GET request and binds the response to the given type.
+     * <p>
+     * Unlike {@link #get(String)} the response is deserialized while it's being read
+     * from the response body, so neither the body string nor an intermediate
+     * {@link JsonObject} tree are built.
+     *
+     * @param url  the resource URL
+     * @param type the type to which bind the response
+     * @return the response as an instance of the given type, null if the request failed, the response
+     * status code was not successful or the deserialization failed
+     */
+    <T> T get(String url, Type type);
+
+    /**
+     * Same as {@link #get(String, Type)} but for an already parsed URL, so that building the request
+     * doesn't parse the URL string again.
+     */
+    <T> T get(HttpUrl url, Type type);
+
+    /**
+     * Same as {@link #get(String, Type)} but the request is made for a known endpoint, so that the response
+     * can be served from and stored in the {@link ResponseCache}, if one is set and the endpoint is cacheable.
+     * <p>
+     * If conditional requests are enabled, expired responses are revalidated with the server
+     * and reused if not modified.
+     *
+     * @param endpoint the requested endpoint
+     * @param url      the resource URL
+     * @param type     the type to which bind the response
+     * @return the response as an instance of the given type, null if the request or the deserialization failed
+     */
+    <T> T get(Endpoints endpoint, String url, Type type);
+
+    /**
+     * Same as {@link #get(Endpoints, String, Type)} but failures are thrown to the caller rather than logged,
+     * so that the status code of a non-successful response can be inspected.
+     *
+     * @throws HttpStatusException if the response status code is not successful
+     * @throws IOException         if the request fails
+     * @throws JsonParseException  if the deserialization fails
+     */
+    <T> T getChecked(Endpoints endpoint, String url, Type type) throws IOException;
+
     /**
      * Executes an HTTP GET request and parses a boolean from the response.
      * Needed for {@link UserApi#usernameAvailable(String)} as the response is not
@@ -64,6 +122,47 @@ public interface OAuthFlow {
      */
     Boolean getBoolean(String url);
 
+    /**
+     * Asynchronous version of {@link #get(String)}. The request is enqueued with OkHttp,
+     * so no thread is blocked while waiting for the response.
+     *
+     * @param url the resource URL
+     * @return a {@link CompletableFuture} completed with the response as a {@link JsonObject},
+     * or completed exceptionally if the request fails
+     */
+    CompletableFuture<JsonObject> getAsync(String url);
+
+    /**
+     * Asynchronous version of {@link #get(String, Type)}.
+     *
+     * @param url  the resource URL
+     * @param type the type to which bind the response
+     * @return a {@link CompletableFuture} completed with the response as an instance of the given type,
+     * or completed exceptionally if the request or the deserialization fails. If the response status code
+     * is not successful the future is completed with an {@link HttpStatusException}
+     */
+    <T> CompletableFuture<T> getAsync(String url, Type type);
+
+    /**
+     * Asynchronous version of {@link #get(HttpUrl, Type)}.
+     */
+    <T> CompletableFuture<T> getAsync(HttpUrl url, Type type);
+
+    /**
+     * Asynchronous version of {@link #get(Endpoints, String, Type)}.
+     * If the response is in the cache the returned future is already completed.
+     */
+    <T> CompletableFuture<T> getAsync(Endpoints endpoint, String url, Type type);
+
+    /**
+     * Asynchronous version of {@link #getBoolean(String)}.
+     *
+     * @param url the resource URL
+     * @return a {@link CompletableFuture} completed with the response as a boolean,
+     * or completed exceptionally if the request fails
+     */
+    CompletableFuture<Boolean> getBooleanAsync(String url);
+
     /**
      * This is the implementation of the HTTP PATCH method using OkHttp.
      *
@@ -96,6 +195,52 @@ public interface OAuthFlow {
      */
     OAuthInfo getAuthInfo();
 
+    /**
+     * @return the {@link RateLimiter} used to pace the requests of this OAuthFlow
+     */
+    RateLimiter getRateLimiter();
+
+    /**
+     * @return how many requests have been replayed with a new token after being rejected with a "401 Unauthorized"
+     */
+    long getUnauthorizedRetries();
+
+    /**
+     * @return the {@link ResponseCache} used by this OAuthFlow, null if responses are not cached
+     */
+    ResponseCache getResponseCache();
+
+    /**
+     * @return the {@link RetryPolicy} used by this OAuthFlow for transient errors
+     */
+    RetryPolicy getRetryPolicy();
+
+    /**
+     * @return the {@link RequestListener} which observes the calls of this OAuthFlow, null if not set
+     */
+    RequestListener getRequestListener();
+
+    /**
+     * Sets the {@link RequestListener} which observes the calls of this OAuthFlow, null to remove it.
+     */
+    void setRequestListener(RequestListener requestListener);
+
+    /**
+     * @return the {@link Executor} used by this OAuthFlow to run blocking work in background,
+     * such as batch requests and listings prefetching
+     */
+    Executor getExecutor();
+
+    /**
+     * @return the base URL of the API endpoints used by this OAuthFlow, see {@link Endpoints#getFullEndpoint(String)}
+     */
+    String getApiBaseURL();
+
+    /**
+     * @return the base URL of the OAuth endpoints used by this OAuthFlow, null if the {@link URLEnum} URLs are used
+     */
+    String getAuthBaseURL();
+
     /**
      * @return an instance of {@link OAuthData} relative to the current/used OAuthFlow
      */
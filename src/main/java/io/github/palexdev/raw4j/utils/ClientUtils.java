@@ -21,10 +21,19 @@ package io.github.palexdev.raw4j.utils;
 import io.github.palexdev.raw4j.enums.LoginType;
 import io.github.palexdev.raw4j.enums.Scopes;
 import io.github.palexdev.raw4j.oauth.OAuthParameters;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static io.github.palexdev.raw4j.utils.StringUtils.checkString;
 
@@ -33,6 +42,14 @@ import static io.github.palexdev.raw4j.utils.StringUtils.checkString;
  */
 public class ClientUtils {
 
+    //================================================================================
+    // Properties
+    //================================================================================
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+    private static final Map<File, Cache> diskCaches = new ConcurrentHashMap<>();
+
     //================================================================================
     // Constructors
     //================================================================================
@@ -84,6 +101,50 @@ public class ClientUtils {
         }
     }
 
+    /**
+     * @return a new {@link OkHttpClient} for an OAuth flow that doesn't specify its own client,
+     * see {@link OAuthParameters#getHttpClient()}
+     * <p>
+     * All the returned clients share the same connection pool, but each of them has its own {@link Dispatcher},
+     * so the concurrency limits ({@value #DEFAULT_MAX_REQUESTS} requests, {@value #DEFAULT_MAX_REQUESTS_PER_HOST}
+     * for each host) apply to each flow separately.
+     */
+    public static OkHttpClient defaultHttpClient() {
+        return DefaultHttpClientHolder.CLIENT.newBuilder()
+                .dispatcher(dispatcher(DEFAULT_MAX_REQUESTS, DEFAULT_MAX_REQUESTS_PER_HOST))
+                .build();
+    }
+
+    /**
+     * Builds a new {@link OkHttpClient} to use as base client for one or more OAuth flows,
+     * see {@link OAuthParameters}.
+     * <p></p>
+     * As with any OkHttp client, HTTP/2 is negotiated when possible, falling back to HTTP/1.1.
+     * <p>
+     * Flows built from the same base client share its {@link Dispatcher}, so the concurrency limits apply to all
+     * of them together. To limit each flow separately give each of them its own client, for example with
+     * {@code client.newBuilder().dispatcher(...)}, which still shares the connection pool.
+     *
+     * @param maxIdleConnections the max number of idle connections to keep in the pool
+     * @param keepAlive          how long idle connections are kept alive
+     * @param maxRequests        the max number of concurrent requests
+     * @param maxRequestsPerHost the max number of concurrent requests for each host
+     */
+    public static OkHttpClient httpClient(int maxIdleConnections, Duration keepAlive, int maxRequests, int maxRequestsPerHost) {
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher(maxRequests, maxRequestsPerHost))
+                .build();
+    }
+
+    /**
+     * @return the OkHttp disk {@link Cache} for the given directory. Instances are shared, since only one
+     * {@link Cache} can use a directory at a time, the max size is the one given when the cache was first requested
+     */
+    public static Cache diskCache(File directory, long maxSize) {
+        return diskCaches.computeIfAbsent(directory.getAbsoluteFile(), dir -> new Cache(dir, maxSize));
+    }
+
     /**
      * Builds a URL from the given arguments, {@link MalformedURLException} is caught by a try catch block.
      */
@@ -101,6 +162,23 @@ public class ClientUtils {
     // Private API
     //================================================================================
 
+    /**
+     * Builds a new {@link Dispatcher} with the given limits.
+     */
+    private static Dispatcher dispatcher(int maxRequests, int maxRequestsPerHost) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return dispatcher;
+    }
+
+    /**
+     * Lazily creates the base of the default clients, which holds the shared connection pool, see {@link #defaultHttpClient()}.
+     */
+    private static class DefaultHttpClientHolder {
+        private static final OkHttpClient CLIENT = httpClient(5, Duration.ofMinutes(5), DEFAULT_MAX_REQUESTS, DEFAULT_MAX_REQUESTS_PER_HOST);
+    }
+
     /**
      * Userless Web Apps check, needed parameters are: User-Agent, ClientID, ClientSecret and Scopes.
      */
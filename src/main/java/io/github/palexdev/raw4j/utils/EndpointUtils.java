@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.utils;
+
+import io.github.palexdev.raw4j.enums.endpoints.AccountEndpoints;
+import io.github.palexdev.raw4j.enums.endpoints.Endpoints;
+import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
+import okhttp3.HttpUrl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Utils class for matching URLs to {@link Endpoints}.
+ */
+public class EndpointUtils {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final Map<Endpoints, Pattern> patterns = new ConcurrentHashMap<>();
+    private static final Endpoints[] known = Stream.of(AccountEndpoints.values(), UserEndpoints.values())
+            .flatMap(Stream::of)
+            .toArray(Endpoints[]::new);
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private EndpointUtils() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * Converts the path of the given endpoint to a {@link Pattern}, the query part is ignored and
+     * the parameters (the '%s' in the endpoint path) match any path segment. Patterns are cached.
+     */
+    public static Pattern pattern(Endpoints endpoint) {
+        return patterns.computeIfAbsent(endpoint, e -> {
+            String path = e.getEndpoint();
+            int queryIndex = path.indexOf('?');
+            if (queryIndex != -1) {
+                path = path.substring(0, queryIndex);
+            }
+
+            StringBuilder regex = new StringBuilder();
+            for (String part : path.split("%s", -1)) {
+                if (regex.length() > 0) {
+                    regex.append("[^/]+");
+                }
+                regex.append(Pattern.quote(part));
+            }
+            return Pattern.compile(regex.toString());
+        });
+    }
+
+    /**
+     * @return the path of the given URL relative to the given base path (the path of the API base URL),
+     * or null if the URL is not under the base path
+     */
+    public static String relativePath(HttpUrl url, String basePath) {
+        String path = url.encodedPath();
+        String base = StringUtils.removeTrailingSlash(basePath);
+        if (base.isEmpty()) {
+            return path;
+        }
+        if (!path.startsWith(base) || (path.length() > base.length() && path.charAt(base.length()) != '/')) {
+            return null;
+        }
+        return path.substring(base.length());
+    }
+
+    /**
+     * Calls {@link #matches(Endpoints, HttpUrl, String)} with an empty base path.
+     */
+    public static boolean matches(Endpoints endpoint, HttpUrl url) {
+        return matches(endpoint, url, "");
+    }
+
+    /**
+     * @return whether the path of the given URL, relative to the given base path, matches the given endpoint,
+     * see {@link #relativePath(HttpUrl, String)}
+     */
+    public static boolean matches(Endpoints endpoint, HttpUrl url, String basePath) {
+        String path = relativePath(url, basePath);
+        return path != null && pattern(endpoint).matcher(path).matches();
+    }
+
+    /**
+     * Calls {@link #resolve(HttpUrl, String)} with an empty base path.
+     */
+    public static Endpoints resolve(HttpUrl url) {
+        return resolve(url, "");
+    }
+
+    /**
+     * @return the endpoint (among {@link AccountEndpoints} and {@link UserEndpoints}) matching the
+     * path of the given URL relative to the given base path, null if none matches
+     */
+    public static Endpoints resolve(HttpUrl url, String basePath) {
+        String path = relativePath(url, basePath);
+        if (path == null) {
+            return null;
+        }
+        for (Endpoints endpoint : known) {
+            if (pattern(endpoint).matcher(path).matches()) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
@@ -18,8 +18,11 @@
 
 package io.github.palexdev.raw4j.utils;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExecutorUtils {
     //================================================================================
@@ -48,4 +51,61 @@ public class ExecutorUtils {
         return scheduled;
     }
 
+    /**
+     * Returns the shared executor which runs each task in a new virtual thread, so that blocking calls
+     * are cheap and can be run with very high concurrency.
+     * <p>
+     * Virtual threads are available since Java 21, on older runtimes (or if they are not enabled) this falls back
+     * to a cached pool of daemon platform threads, see {@link #isVirtualThreads()}.
+     */
+    public static ExecutorService virtualThreads() {
+        return VirtualThreadsHolder.EXECUTOR;
+    }
+
+    /**
+     * @return whether {@link #virtualThreads()} actually uses virtual threads
+     */
+    public static boolean isVirtualThreads() {
+        return VirtualThreadsHolder.VIRTUAL;
+    }
+
+    /**
+     * Creates a virtual thread per task executor reflectively, since this library targets Java 17.
+     *
+     * @return the executor, or null if virtual threads are not available
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a cached pool of daemon platform threads, used when virtual threads are not available.
+     */
+    private static ExecutorService newWorkerPool() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("RAW4J - Worker " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * Lazily creates the executor returned by {@link #virtualThreads()}.
+     */
+    private static class VirtualThreadsHolder {
+        private static final ExecutorService VIRTUAL_EXECUTOR = newVirtualThreadPerTaskExecutor();
+        private static final boolean VIRTUAL = VIRTUAL_EXECUTOR != null;
+        private static final ExecutorService EXECUTOR = VIRTUAL ? VIRTUAL_EXECUTOR : newWorkerPool();
+    }
 }
@@ -58,6 +58,17 @@ public class StringUtils {
                 + string.substring(index + substring.length());
     }
 
+    /**
+     * Removes the trailing slashes of the given String, used to normalize base URLs.
+     */
+    public static String removeTrailingSlash(String string) {
+        int end = string.length();
+        while (end > 0 && string.charAt(end - 1) == '/') {
+            end--;
+        }
+        return string.substring(0, end);
+    }
+
     public static String checkString(String s, String returnS) {
         return (s == null || s.isBlank()) ? returnS : "";
     }
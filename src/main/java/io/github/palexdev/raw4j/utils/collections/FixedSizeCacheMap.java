@@ -23,6 +23,9 @@ import java.util.Map;
 
 /**
  * Implementation of a {@link LinkedHashMap} with a maximum capacity
+ * <p>
+ * By default, entries are kept in insertion order, so the oldest entry is removed when the map is full.
+ * Using {@link #FixedSizeCacheMap(int, boolean)} with access order the least recently used entry is removed instead.
  */
 public class FixedSizeCacheMap<K, V> extends LinkedHashMap<K, V> {
     //================================================================================
@@ -34,7 +37,11 @@ public class FixedSizeCacheMap<K, V> extends LinkedHashMap<K, V> {
     // Constructors
     //================================================================================
     public FixedSizeCacheMap(int maxSize) {
-        super(maxSize + 2, 1F);
+        this(maxSize, false);
+    }
+
+    public FixedSizeCacheMap(int maxSize, boolean accessOrder) {
+        super(maxSize + 2, 1F, accessOrder);
         this.maxSize = maxSize;
     }
 
@@ -18,13 +18,32 @@
 
 package io.github.palexdev.raw4j.utils.iterators;
 
+import io.github.palexdev.raw4j.api.listing.base.ListingCursor;
 import io.github.palexdev.raw4j.api.listing.base.ListingRequestBuilder;
 import io.github.palexdev.raw4j.data.base.Listing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Iterator for {@link Listing}s, implements {@link BiDirectionalIterator}.
  * <p>
  * The iterator makes use of a {@link ListingRequestBuilder} to fetch the listings.
+ * <p></p>
+ * By default, listings are fetched only when requested by {@link #next()} or {@link #previous()}.
+ * The iterator can also work in prefetching mode, see {@link #prefetching(int)}, in which the next listings are
+ * requested as soon as the previous ones arrive and kept in a bounded buffer until the consumer asks for them.
+ * <p></p>
+ * The position of the iterator can be captured at any time with {@link #cursor()} and periodically saved to a file,
+ * see {@link #checkpointing(Path, int)}. An iterator built from a cursor resumes the navigation from where it was
+ * captured, see {@link #ListingIterator(ListingCursor, ListingRequestBuilder)}.
  *
  * @param <T> the type of {@link Listing}
  */
@@ -32,19 +51,47 @@ public class ListingIterator<T extends Listing> implements BiDirectionalIterator
     //================================================================================
     // Properties
     //================================================================================
+    private static final Logger logger = LoggerFactory.getLogger(ListingIterator.class.getSimpleName());
+
     private T listing;
+    private int count;
     private final ListingRequestBuilder<T> requestBuilder;
+    private final ListingCursor resumeFrom;
+
+    private Path checkpointFile;
+    private int checkpointInterval;
+    private int sinceCheckpoint;
+
+    private int prefetchDepth;
+    private final Deque<Prefetch> buffer = new ArrayDeque<>();
 
     //================================================================================
     // Constructors
     //================================================================================
     public ListingIterator(ListingRequestBuilder<T> requestBuilder) {
-        this.requestBuilder = requestBuilder;
+        this(null, null, requestBuilder);
     }
 
     public ListingIterator(T listing, ListingRequestBuilder<T> requestBuilder) {
+        this(listing, null, requestBuilder);
+    }
+
+    /**
+     * Builds a new iterator that resumes the navigation from the given cursor, the first call to {@link #next()}
+     * fetches the listing after the cursor's 'after' property instead of the first page.
+     * <p>
+     * Note that this doesn't restore the builder's limit and count, use {@link ListingRequestBuilder#iterator(ListingCursor)}
+     * for that.
+     */
+    public ListingIterator(ListingCursor cursor, ListingRequestBuilder<T> requestBuilder) {
+        this(null, cursor, requestBuilder);
+    }
+
+    private ListingIterator(T listing, ListingCursor resumeFrom, ListingRequestBuilder<T> requestBuilder) {
         this.listing = listing;
+        this.resumeFrom = resumeFrom;
         this.requestBuilder = requestBuilder;
+        this.count = resumeFrom != null ? resumeFrom.getCount() : requestBuilder.getCount();
     }
 
     //================================================================================
@@ -52,7 +99,159 @@ public class ListingIterator<T extends Listing> implements BiDirectionalIterator
     //================================================================================
 
     /**
-     * If the current listing is null retrieves one by calling {@link ListingRequestBuilder#get()}.
+     * Enables the prefetching mode.
+     * <p>
+     * When a listing arrives the request for the next one is immediately sent, using its 'after' property,
+     * so that the network latency overlaps with the consumer's work. Up to {@code depth} listings are fetched
+     * ahead of the consumer, the pages are then handed out by {@link #next()} in order.
+     * <p></p>
+     * Notes:
+     * <p> - listings are fetched asynchronously, see {@link ListingRequestBuilder#nextAsync(Listing)}, if a request fails
+     * {@link #next()} throws a {@link CompletionException}, the navigation can be continued by calling {@link #next()} again
+     * <p> - {@link #getCount()} and {@link #cursor()} only count the items of the listings that have been handed out,
+     * not the ones that have been prefetched but not consumed yet
+     * <p> - the requests for the next listings are sent from the client's executor, see {@link ListingRequestBuilder#getExecutor()},
+     * so that the OkHttp threads are never used to run the consumer's continuations
+     * <p> - {@link #previous()} discards the prefetched listings, cancelling the requests still in progress,
+     * and fetches the previous listing synchronously
+     *
+     * @param depth the max number of listings to fetch ahead
+     * @throws IllegalArgumentException if depth is less than 1
+     */
+    public ListingIterator<T> prefetching(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Prefetch depth must be at least 1, was: " + depth);
+        }
+        this.prefetchDepth = depth;
+        return this;
+    }
+
+    /**
+     * @return whether the prefetching mode is enabled
+     */
+    public boolean isPrefetching() {
+        return prefetchDepth > 0;
+    }
+
+    /**
+     * Enables periodic checkpoints.
+     * <p>
+     * Every {@code interval} listings handed out by {@link #next()} or {@link #previous()} the cursor of the iterator,
+     * see {@link #cursor()}, is saved to the given file with {@link ListingCursor#save(Path)}. A checkpoint is also
+     * saved when the last listing is reached, so that resuming a completed navigation doesn't fetch anything.
+     * <p>
+     * To resume after a crash or a restart load the cursor with {@link ListingCursor#load(Path)} and pass it to
+     * {@link ListingRequestBuilder#iterator(ListingCursor)}, at most {@code interval} listings will be fetched again.
+     * <p></p>
+     * Failures while saving are logged and don't interrupt the navigation, the next checkpoint is attempted
+     * at the next listing.
+     *
+     * @param file     the file to which save the cursor
+     * @param interval the number of listings between two checkpoints
+     * @throws IllegalArgumentException if interval is less than 1
+     */
+    public ListingIterator<T> checkpointing(Path file, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1, was: " + interval);
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+        this.sinceCheckpoint = 0;
+        return this;
+    }
+
+    /**
+     * @return a {@link ListingCursor} for the current position of the iterator, the cursor this iterator was
+     * resumed from if no listing has been fetched yet, or null if the iterator was not resumed and no listing
+     * has been fetched yet (resuming from the start is the same as starting over)
+     * <p>
+     * The cursor's count is the one of the iterator, see {@link #getCount()}.
+     */
+    public ListingCursor cursor() {
+        return listing != null ? requestBuilder.cursor(listing, count) : resumeFrom;
+    }
+
+    /**
+     * Saves the current cursor to the checkpoint file now, see {@link #checkpointing(Path, int)}.
+     * <p>
+     * Does nothing if there's no position to save yet, see {@link #cursor()}.
+     *
+     * @throws IllegalStateException if checkpoints are not enabled
+     */
+    public void checkpoint() throws IOException {
+        if (checkpointFile == null) {
+            throw new IllegalStateException("Checkpoints are not enabled, see checkpointing(Path, int)");
+        }
+
+        ListingCursor cursor = cursor();
+        if (cursor != null) {
+            cursor.save(checkpointFile);
+        }
+        sinceCheckpoint = 0;
+    }
+
+    /**
+     * Called every time a listing is handed out, saves a checkpoint if enough listings have been handed out
+     * since the last one or if the last listing has been reached.
+     */
+    private void onListing() {
+        if (checkpointFile == null || listing == null) {
+            return;
+        }
+
+        sinceCheckpoint++;
+        if (sinceCheckpoint >= checkpointInterval || listing.getAfter() == null) {
+            try {
+                checkpoint();
+            } catch (IOException ex) {
+                logger.warn("Failed to save checkpoint to: [" + checkpointFile + "], cause was: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fills the buffer up to the prefetch depth, each request is chained to the previous one
+     * and sent as soon as the previous listing arrives.
+     *
+     * @param current the future of the page being handed to the consumer
+     */
+    private void fillBuffer(CompletableFuture<Page<T>> current) {
+        CompletableFuture<Page<T>> last = buffer.isEmpty() ? current : buffer.peekLast().page;
+        while (buffer.size() < prefetchDepth) {
+            Prefetch prefetch = new Prefetch();
+            prefetch.page = last.thenComposeAsync(prefetch::fetch, requestBuilder.getExecutor());
+            last = prefetch.page;
+            buffer.add(prefetch);
+        }
+    }
+
+    /**
+     * Cancels the requests still in progress and discards the prefetched listings.
+     * <p>
+     * The builder's count is reset to the iterator's one, so that the discarded listings
+     * are not counted by the next requests.
+     */
+    private void clearBuffer() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        buffer.forEach(Prefetch::cancel);
+        buffer.clear();
+        requestBuilder.setCount(count);
+    }
+
+    /**
+     * @return a future that wraps the given one into a {@link Page}, the builder's count is captured
+     * as soon as the listing has been processed, before the request for the next one is sent
+     */
+    private CompletableFuture<Page<T>> page(CompletableFuture<T> future) {
+        return future.thenApply(l -> new Page<>(l, requestBuilder.getCount()));
+    }
+
+    /**
+     * If the current listing is null retrieves one by calling {@link ListingRequestBuilder#get()}, or, if the
+     * iterator was resumed from a cursor, {@link ListingRequestBuilder#next(ListingCursor)} or
+     * {@link ListingRequestBuilder#previous(ListingCursor)} according to the given direction.
      * <p></p>
      * According to the specified direction parameter retrieves the next or previous listing from
      * the current one by calling {@link ListingRequestBuilder#next(Listing)} or {@link ListingRequestBuilder#previous(Listing)}.
@@ -61,7 +260,17 @@ public class ListingIterator<T extends Listing> implements BiDirectionalIterator
      */
     private T getListing(Direction direction) {
         if (listing == null) {
-            listing = requestBuilder.get();
+            if (resumeFrom == null) {
+                listing = requestBuilder.get();
+                count = requestBuilder.getCount();
+                return listing;
+            }
+
+            listing = switch (direction) {
+                case FORWARD -> requestBuilder.next(resumeFrom);
+                case BACKWARD -> requestBuilder.previous(resumeFrom);
+            };
+            count = requestBuilder.getCount();
             return listing;
         }
 
@@ -69,6 +278,7 @@ public class ListingIterator<T extends Listing> implements BiDirectionalIterator
             case FORWARD -> requestBuilder.next(listing);
             case BACKWARD -> requestBuilder.previous(listing);
         };
+        count = requestBuilder.getCount();
         return listing;
     }
 
@@ -80,40 +290,95 @@ public class ListingIterator<T extends Listing> implements BiDirectionalIterator
      * {@inheritDoc}
      * <p></p>
      * Checks if the listing is null or the after property of the listing is not null.
+     * <p>
+     * If no listing has been fetched yet and the iterator was resumed from a cursor, checks the
+     * after property of the cursor.
      */
     @Override
     public boolean hasNext() {
-        return listing == null || listing.getAfter() != null;
+        if (listing == null) {
+            return resumeFrom == null || resumeFrom.getAfter() != null;
+        }
+        return listing.getAfter() != null;
     }
 
     /**
      * {@inheritDoc}
      * <p></p>
      * Calls {@link #getListing(Direction)} with FORWARD as direction.
+     * <p>
+     * In prefetching mode takes the next listing from the buffer, waiting for it if it has not arrived yet,
+     * after refilling the buffer so that up to depth listings are requested ahead of it.
+     * If the request fails the prefetched listings, which depend on it, are discarded, so that the next call
+     * starts again from the last listing handed out.
      */
     @Override
     public T next() {
-        return getListing(Direction.FORWARD);
+        if (!isPrefetching()) {
+            getListing(Direction.FORWARD);
+            onListing();
+            return listing;
+        }
+
+        CompletableFuture<Page<T>> current = buffer.isEmpty() ? page(firstAsync()) : buffer.poll().page;
+        fillBuffer(current);
+
+        Page<T> page;
+        try {
+            page = current.join();
+        } catch (CompletionException | CancellationException ex) {
+            clearBuffer();
+            throw ex;
+        }
+        listing = page.listing();
+        count = page.count();
+        if (listing == null || listing.getAfter() == null) {
+            clearBuffer();
+        }
+        onListing();
+        return listing;
+    }
+
+    /**
+     * @return the future of the listing to hand out when the buffer is empty: the next listing from the current one,
+     * or the one after the cursor the iterator was resumed from, or the first page
+     */
+    private CompletableFuture<T> firstAsync() {
+        if (listing != null) {
+            return requestBuilder.nextAsync(listing);
+        }
+        return resumeFrom != null ? requestBuilder.nextAsync(resumeFrom) : requestBuilder.getAsync();
     }
 
     /**
      * {@inheritDoc}
      * <p></p>
      * Checks if the listing is not null and the before property of the listing is not null.
+     * <p>
+     * If no listing has been fetched yet and the iterator was resumed from a cursor, checks the
+     * before property of the cursor.
      */
     @Override
     public boolean hasPrevious() {
-        return listing != null && listing.getBefore() != null;
+        if (listing == null) {
+            return resumeFrom != null && resumeFrom.getBefore() != null;
+        }
+        return listing.getBefore() != null;
     }
 
     /**
      * {@inheritDoc}
      * <p></p>
      * Calls {@link #getListing(Direction)} with BACKWARD as direction.
+     * <p>
+     * In prefetching mode the buffer is discarded first.
      */
     @Override
     public T previous() {
-        return getListing(Direction.BACKWARD);
+        clearBuffer();
+        getListing(Direction.BACKWARD);
+        onListing();
+        return listing;
     }
 
     //================================================================================
@@ -128,9 +393,58 @@ public class ListingIterator<T extends Listing> implements BiDirectionalIterator
     }
 
     /**
-     * Delegate to {@link ListingRequestBuilder#getCount()}.
+     * @return the number of items of the listings handed out by this iterator, or the count of the cursor
+     * this iterator was resumed from if no listing has been fetched yet
+     * <p>
+     * Unlike {@link ListingRequestBuilder#getCount()} this never includes the prefetched listings.
      */
     public int getCount() {
-        return requestBuilder.getCount();
+        return count;
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * A listing and the builder's count right after it was processed.
+     */
+    private record Page<T>(T listing, int count) {}
+
+    /**
+     * A slot of the prefetch buffer, keeps the future of the actual request so that it can be cancelled
+     * along with the page, see {@link ListingRequestBuilder#nextAsync(Listing)}.
+     */
+    private final class Prefetch {
+        private CompletableFuture<Page<T>> page;
+        private volatile CompletableFuture<T> request;
+        private volatile boolean cancelled;
+
+        /**
+         * Sends the request for the listing after the given page, unless the slot has been cancelled
+         * or there's no next listing.
+         */
+        private CompletableFuture<Page<T>> fetch(Page<T> previous) {
+            T l = previous.listing();
+            if (cancelled || l == null || l.getAfter() == null) {
+                return CompletableFuture.completedFuture(new Page<>(null, previous.count()));
+            }
+
+            CompletableFuture<T> future = requestBuilder.nextAsync(l);
+            request = future;
+            if (cancelled) {
+                future.cancel(true);
+            }
+            return page(future);
+        }
+
+        private void cancel() {
+            cancelled = true;
+            page.cancel(true);
+            CompletableFuture<T> future = request;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
     }
 }
@@ -18,15 +18,40 @@
 
 package io.github.palexdev.raw4j.utils.stream;
 
+import io.github.palexdev.raw4j.api.listing.CommentListRequestBuilder;
+import io.github.palexdev.raw4j.api.listing.OverviewRequestBuilder;
+import io.github.palexdev.raw4j.api.listing.PostListRequestBuilder;
 import io.github.palexdev.raw4j.api.listing.base.ListingRequestBuilder;
+import io.github.palexdev.raw4j.data.Comment;
+import io.github.palexdev.raw4j.data.Post;
 import io.github.palexdev.raw4j.data.base.Listing;
+import io.github.palexdev.raw4j.data.base.Submission;
+import io.github.palexdev.raw4j.data.listing.CommentList;
+import io.github.palexdev.raw4j.data.listing.Overview;
+import io.github.palexdev.raw4j.data.listing.PostList;
 import io.github.palexdev.raw4j.utils.iterators.ListingIterator;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
  * Helper class to add {@link Stream} support to {@link Listing}s by using a {@link ListingIterator}.
+ * <p></p>
+ * Streams can be built on pages ({@link #stream(ListingRequestBuilder)}, {@link #asStream(ListingIterator)}) or
+ * directly on the items contained by the pages ({@link #posts(PostListRequestBuilder)}, {@link #comments(CommentListRequestBuilder)},
+ * {@link #submissions(OverviewRequestBuilder)}, {@link #items(ListingIterator, Function)}).
+ * <p>
+ * Item streams fetch pages lazily, only when the items of the previous page have been consumed, so short-circuiting
+ * operations such as {@link Stream#limit(long)} or {@link Stream#takeWhile(Predicate)} don't send unnecessary requests.
+ * Their spliterator reports {@link Spliterator#ORDERED}, {@link Spliterator#NONNULL} and {@link Spliterator#DISTINCT}
+ * characteristics, it doesn't split since pages must be fetched in order.
  */
 public class ListingStreamSupport {
 
@@ -60,4 +85,100 @@ public class ListingStreamSupport {
                 false
         );
     }
+
+    /**
+     * Builds a {@link Stream} of the {@link Post}s contained in the listings fetched by the given builder.
+     */
+    public static Stream<Post> posts(PostListRequestBuilder requestBuilder) {
+        return items(requestBuilder.iterator(), PostList::posts);
+    }
+
+    /**
+     * Builds a {@link Stream} of the {@link Comment}s contained in the listings fetched by the given builder.
+     */
+    public static Stream<Comment> comments(CommentListRequestBuilder requestBuilder) {
+        return items(requestBuilder.iterator(), CommentList::comments);
+    }
+
+    /**
+     * Builds a {@link Stream} of the {@link Submission}s contained in the listings fetched by the given builder.
+     * <p>
+     * The submissions of each page are in the same order as {@link Overview#submissions()}.
+     */
+    public static Stream<Submission> submissions(OverviewRequestBuilder requestBuilder) {
+        return items(requestBuilder.iterator(), Overview::submissions);
+    }
+
+    /**
+     * Builds a {@link Stream} of the items contained in the listings returned by the given iterator.
+     * <p>
+     * This can be used with a prefetching iterator too, see {@link ListingIterator#prefetching(int)}.
+     *
+     * @param extractor the function to get the items of a listing
+     * @param <T>       the type of listing
+     * @param <E>       the type of items
+     */
+    public static <T extends Listing, E> Stream<E> items(ListingIterator<T> iterator, Function<T, List<E>> extractor) {
+        return StreamSupport.stream(
+                new ListingItemSpliterator<>(iterator, extractor),
+                false
+        );
+    }
+
+    //================================================================================
+    // Nested Classes
+    //================================================================================
+
+    /**
+     * {@link Spliterator} that iterates over the items of the listings returned by a {@link ListingIterator},
+     * fetching the next listing only when the items of the current one have been consumed.
+     */
+    private static class ListingItemSpliterator<T extends Listing, E> implements Spliterator<E> {
+        private final ListingIterator<T> iterator;
+        private final Function<T, List<E>> extractor;
+        private Iterator<E> items = Collections.emptyIterator();
+
+        private ListingItemSpliterator(ListingIterator<T> iterator, Function<T, List<E>> extractor) {
+            this.iterator = iterator;
+            this.extractor = extractor;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            while (true) {
+                while (items.hasNext()) {
+                    E item = items.next();
+                    if (item != null) {
+                        action.accept(item);
+                        return true;
+                    }
+                }
+
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                T listing = iterator.next();
+                if (listing == null) {
+                    return false;
+                }
+                List<E> list = extractor.apply(listing);
+                items = list != null ? list.iterator() : Collections.emptyIterator();
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | DISTINCT;
+        }
+    }
 }
@@ -18,16 +18,34 @@
 
 package io.github.palexdev.raw4j;
 
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import io.github.palexdev.raw4j.base.CommonTestProperties;
+import io.github.palexdev.raw4j.data.Prefs;
+import io.github.palexdev.raw4j.data.User;
+import io.github.palexdev.raw4j.data.listing.CommentList;
 import io.github.palexdev.raw4j.data.listing.Overview;
+import io.github.palexdev.raw4j.data.listing.PostList;
+import io.github.palexdev.raw4j.data.listing.TrophyList;
 import io.github.palexdev.raw4j.data.media.Preview;
+import io.github.palexdev.raw4j.enums.PrefsEnumerators.AcceptPMsEnum;
+import io.github.palexdev.raw4j.json.GsonInstance;
+import io.github.palexdev.raw4j.json.GsonInstance.Profile;
+import io.github.palexdev.raw4j.json.adapters.TimestampAdapter;
+import io.github.palexdev.raw4j.json.annotations.Wrapped;
+import io.github.palexdev.raw4j.mock.Fixtures;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.io.Reader;
+import java.util.Map;
 
 import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
 import static io.github.palexdev.raw4j.json.GsonInstance.toJson;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class JSONTest extends CommonTestProperties {
 
@@ -46,4 +64,116 @@ public class JSONTest extends CommonTestProperties {
         logger.debug("\n" + toJson(overview));
         assertEquals(25, overview.submissions().size());
     }
+
+    @Test
+    public void testRedditUser() {
+        Reader json = ResourceManager.loadJson("TestJson/User.json");
+        User user = fromJson(json, User.class);
+        logger.debug("\n" + toJson(user));
+        assertEquals("ThreeSixty404", user.getUsername());
+        assertEquals(1205, user.getLinkKarma());
+    }
+
+    @Test
+    public void testRedditPrefs() {
+        Reader json = ResourceManager.loadJson("TestJson/Prefs.json");
+        Prefs prefs = fromJson(json, Prefs.class);
+        logger.debug("\n" + toJson(prefs));
+        assertEquals(AcceptPMsEnum.EVERYONE, prefs.getAcceptPms());
+        assertEquals(200, prefs.getNumComments());
+    }
+
+    @Test
+    public void testRedditTrophies() {
+        Reader json = ResourceManager.loadJson("TestJson/TrophyList.json");
+        TrophyList trophyList = fromJson(json, TrophyList.class);
+        logger.debug("\n" + toJson(trophyList));
+        assertEquals(5, trophyList.trophies().size());
+    }
+
+    @Test
+    public void testProfiles() {
+        User user = fromJson(ResourceManager.loadJson("TestJson/User.json"), User.class);
+        String compact = toJson(user);
+        String pretty = toJson(user, Profile.PRETTY);
+        assertEquals(compact, toJson(user, Profile.COMPACT));
+        assertFalse(compact.contains("\n"));
+        assertTrue(pretty.contains("\n  "));
+        assertEquals(JsonParser.parseString(compact), JsonParser.parseString(pretty));
+        assertSame(GsonInstance.gson(), GsonInstance.gson(Profile.COMPACT));
+    }
+
+    @Test
+    public void testStreamingMatchesTree() {
+        assertStreamingMatchesTree(Fixtures.load("Overview.json"), Overview.class);
+        assertStreamingMatchesTree(Fixtures.load("User.json"), User.class);
+        assertStreamingMatchesTree(Fixtures.load("TrophyList.json"), TrophyList.class);
+        assertStreamingMatchesTree(Fixtures.load("Preview.json"), Preview.class);
+        assertStreamingMatchesTree(Fixtures.listing("t3", 50), PostList.class);
+        assertStreamingMatchesTree(Fixtures.listing("t1", 50), CommentList.class);
+    }
+
+    @Test
+    public void testWrappedMap() {
+        String json = "{\"kind\": \"t0\", \"data\": {\"counts\": {\"a\": 1, \"b\": 2}}}";
+        WrappedCounts counts = fromJson(json, WrappedCounts.class);
+        assertEquals(Map.of("a", 1, "b", 2), counts.counts);
+    }
+
+    @Test
+    public void testWrappedJsonAdapter() {
+        String json = "{\"kind\": \"t0\", \"data\": {\"created\": 1628804649.622, \"name\": \"cba\"}}";
+        WrappedAdapted adapted = fromJson(json, WrappedAdapted.class);
+        assertEquals(1628804649L, adapted.created);
+        assertEquals("abc", adapted.name);
+
+        // Written with the fields' adapters too, so the round-trip is lossless
+        String written = toJson(adapted);
+        assertTrue(written.contains("\"cba\""), written);
+        WrappedAdapted read = fromJson(written, WrappedAdapted.class);
+        assertEquals(1628804649L, read.created);
+        assertEquals("abc", read.name);
+    }
+
+    /**
+     * Binds the given json both while streaming and from a tree, the results must serialize to the same json,
+     * which must also survive a round-trip.
+     */
+    private void assertStreamingMatchesTree(String json, Class<?> type) {
+        Object streamed = fromJson(json, type);
+        Object tree = fromJson(JsonParser.parseString(json), type);
+        String expected = toJson(tree);
+        assertEquals(expected, toJson(streamed), type.getSimpleName());
+        assertEquals(expected, toJson(fromJson(toJson(streamed), type)), type.getSimpleName());
+    }
+
+    @Wrapped("data")
+    private static class WrappedCounts {
+        private Map<String, Integer> counts;
+    }
+
+    @Wrapped("data")
+    private static class WrappedAdapted {
+        @JsonAdapter(TimestampAdapter.class)
+        private Long created;
+
+        @JsonAdapter(ReversedAdapter.class)
+        private String name;
+    }
+
+    /**
+     * Reverses strings both when reading and writing.
+     */
+    private static class ReversedAdapter extends TypeAdapter<String> {
+
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(new StringBuilder(value).reverse().toString());
+        }
+
+        @Override
+        public String read(JsonReader in) throws IOException {
+            return new StringBuilder(in.nextString()).reverse().toString();
+        }
+    }
 }
@@ -74,6 +74,21 @@ public class ListingIteratorTest extends CommonTestProperties {
         assertEquals(postTitles.size(), iterator.getCount());
     }
 
+    @Test
+    public void testPrefetchingPostsIterator() {
+        List<String> postTitles = new ArrayList<>();
+        ListingIterator<PostList> iterator = redditClient.userApi().postListIterator(PostListType.ALL, TestConfig.USERNAME).prefetching(2);
+        iterator.setLimit(10);
+        while (iterator.hasNext()) {
+            PostList postList = iterator.next();
+            postTitles.addAll(postList.posts().stream().map(Post::getTitle).collect(Collectors.toList()));
+        }
+        postTitles.sort(String::compareTo);
+        debugListing(postTitles);
+        assertTrue(postTitles.size() >= 48);
+        assertEquals(postTitles.size(), iterator.getCount());
+    }
+
     @Test
     public void testPostsForEach() {
         List<String> postTitles = new ArrayList<>();
@@ -113,6 +128,17 @@ public class ListingIteratorTest extends CommonTestProperties {
         assertTrue(posts.stream().mapToLong(postList -> postList.posts().size()).sum() >= 48);
     }
 
+    @Test
+    public void testStreamPosts() {
+        PostListRequestBuilder requestBuilder = redditClient.userApi().postListRequestBuilder(PostListType.ALL, TestConfig.USERNAME);
+        requestBuilder.setLimit(10);
+        List<Post> posts = ListingStreamSupport.posts(requestBuilder)
+                .limit(15)
+                .collect(Collectors.toList());
+        assertEquals(15, posts.size());
+        assertEquals(20, requestBuilder.getCount());
+    }
+
     @Test
     public void testPostsCollections() {
         List<PostList> postLists = ListingStreamSupport.asStream(redditClient.userApi().postListIterator(PostListType.ALL, TestConfig.USERNAME))
@@ -0,0 +1,579 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j;
+
+import io.github.palexdev.raw4j.api.RedditClient;
+import io.github.palexdev.raw4j.api.UserApi;
+import io.github.palexdev.raw4j.api.listing.PostListRequestBuilder;
+import io.github.palexdev.raw4j.api.listing.base.ListingCursor;
+import io.github.palexdev.raw4j.base.CommonTestProperties;
+import io.github.palexdev.raw4j.data.Post;
+import io.github.palexdev.raw4j.data.User;
+import io.github.palexdev.raw4j.data.listing.PostList;
+import io.github.palexdev.raw4j.enums.PostListType;
+import io.github.palexdev.raw4j.enums.endpoints.URLEnum;
+import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
+import io.github.palexdev.raw4j.exception.HttpStatusException;
+import io.github.palexdev.raw4j.exception.OAuthException;
+import io.github.palexdev.raw4j.http.DiskCachePolicy;
+import io.github.palexdev.raw4j.http.TTLResponseCache;
+import io.github.palexdev.raw4j.http.RequestMetrics;
+import io.github.palexdev.raw4j.http.RetryPolicy;
+import io.github.palexdev.raw4j.mock.MockRedditServer;
+import io.github.palexdev.raw4j.oauth.OAuthParameters;
+import io.github.palexdev.raw4j.oauth.OAuthScriptFlow;
+import io.github.palexdev.raw4j.oauth.base.OAuthFlow;
+import io.github.palexdev.raw4j.utils.ClientUtils;
+import io.github.palexdev.raw4j.utils.EndpointUtils;
+import io.github.palexdev.raw4j.utils.iterators.ListingIterator;
+import io.github.palexdev.raw4j.utils.stream.ListingStreamSupport;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the client against the {@link MockRedditServer}, no network needed.
+ */
+public class MockServerTest extends CommonTestProperties {
+    private static MockRedditServer server;
+
+    public MockServerTest() {
+        super();
+        parameters = parameters(server);
+    }
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        // Otherwise small responses are delayed by Nagle's algorithm, since headers and body are written separately
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = new MockRedditServer().start();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        server.setListingPages(4).setRateLimit(1_000_000, Duration.ofMinutes(10));
+        redditClient = RedditClient.login(parameters);
+        assertNotNull(redditClient);
+        server.resetCounters();
+    }
+
+    @Test
+    public void testPaging() {
+        ListingIterator<PostList> iterator = redditClient.api().userApi().postListIterator(PostListType.ALL, "ThreeSixty404");
+        int pages = 0;
+        while (iterator.hasNext()) {
+            assertFalse(iterator.next().posts().isEmpty());
+            pages++;
+        }
+        assertEquals(4, pages);
+        assertEquals(4, server.getApiRequests());
+    }
+
+    @Test
+    public void testPrefetchPaging() {
+        server.setListingPages(6);
+        ListingIterator<PostList> iterator = redditClient.api().userApi().postListIterator(PostListType.ALL, "ThreeSixty404").prefetching(2);
+        int pages = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            pages++;
+        }
+        assertEquals(6, pages);
+        assertEquals(6, server.getApiRequests());
+    }
+
+    @Test
+    public void testStreamPosts() {
+        PostListRequestBuilder requestBuilder = redditClient.api().userApi().postListRequestBuilder(PostListType.ALL, "ThreeSixty404");
+        requestBuilder.setLimit(10);
+        List<String> ids = ListingStreamSupport.posts(requestBuilder)
+                .map(Post::getID)
+                .collect(Collectors.toList());
+
+        // Items are streamed in order and the stream stops at the last page, the first page is not limited
+        List<String> expected = IntStream.range(0, 55).mapToObj(i -> Integer.toString(i, 36)).collect(Collectors.toList());
+        assertEquals(expected, ids);
+        assertEquals(4, server.getApiRequests());
+
+        // Short-circuiting doesn't fetch more pages than needed
+        server.resetCounters();
+        requestBuilder = redditClient.api().userApi().postListRequestBuilder(PostListType.ALL, "ThreeSixty404");
+        requestBuilder.setLimit(10);
+        ids = ListingStreamSupport.posts(requestBuilder)
+                .limit(30)
+                .map(Post::getID)
+                .collect(Collectors.toList());
+        assertEquals(expected.subList(0, 30), ids);
+        assertEquals(2, server.getApiRequests());
+    }
+
+    @Test
+    public void testPrefetchRecovers() {
+        server.setListingPages(6);
+        ListingIterator<PostList> iterator = redditClient.api().userApi().postListIterator(PostListType.ALL, "ThreeSixty404").prefetching(2);
+        iterator.next();
+        while (server.getApiRequests() < 3) {
+            Thread.onSpinWait();
+        }
+
+        // The fourth page fails, and so does the fifth which was chained to it
+        server.failNext(400, 1);
+        iterator.next();
+        iterator.next();
+        assertThrows(CompletionException.class, iterator::next);
+
+        // The crawl continues from the third page
+        int pages = 3;
+        while (iterator.hasNext()) {
+            assertFalse(iterator.next().posts().isEmpty());
+            pages++;
+        }
+        assertEquals(6, pages);
+        assertEquals(7, server.getApiRequests());
+    }
+
+    @Test
+    public void testResumeFromCheckpoint(@TempDir Path dir) throws IOException {
+        server.setListingPages(6);
+        Path file = dir.resolve("cursor.json");
+        ListingIterator<PostList> iterator = redditClient.api().userApi().postListIterator(PostListType.ALL, "ThreeSixty404")
+                .checkpointing(file, 2);
+        iterator.setLimit(10);
+        for (int i = 0; i < 3; i++) {
+            iterator.next();
+        }
+
+        // Crash after the third page, the checkpoint was saved after the second one
+        ListingCursor cursor = ListingCursor.load(file);
+        assertEquals(ListingCursor.Source.POST_LIST, cursor.getSource());
+        assertEquals(PostListType.ALL, cursor.getListingType(PostListType.class));
+        assertEquals(10, cursor.getLimit());
+        assertEquals(20, cursor.getCount());
+
+        server.resetCounters();
+        ListingIterator<PostList> resumed = redditClient.api().userApi().postListIterator(cursor).checkpointing(file, 2);
+        assertEquals(20, resumed.getCount());
+        int pages = 0;
+        while (resumed.hasNext()) {
+            resumed.next();
+            pages++;
+        }
+        assertEquals(4, pages);
+        assertEquals(4, server.getApiRequests());
+
+        // The last checkpoint marks the navigation as completed
+        assertNull(ListingCursor.load(file).getAfter());
+        assertFalse(redditClient.api().userApi().postListIterator(ListingCursor.load(file)).hasNext());
+        assertThrows(IllegalArgumentException.class, () -> redditClient.api().userApi().commentListIterator(cursor));
+    }
+
+    @Test
+    public void testPrefetchCheckpoint(@TempDir Path dir) throws IOException, InterruptedException {
+        server.setListingPages(8);
+        Path file = dir.resolve("cursor.json");
+        PostListRequestBuilder requestBuilder = redditClient.api().userApi().postListRequestBuilder(PostListType.ALL, "ThreeSixty404");
+        requestBuilder.setLimit(10);
+        ListingIterator<PostList> iterator = requestBuilder.iterator().prefetching(2).checkpointing(file, 2);
+        server.setLatency(Duration.ofMillis(300));
+        try {
+            for (int i = 0; i < 3; i++) {
+                iterator.next();
+            }
+
+            // Prefetched pages are not counted by the cursor nor by the checkpoints
+            assertEquals(30, iterator.getCount());
+            assertEquals(30, iterator.cursor().getCount());
+            assertEquals(20, ListingCursor.load(file).getCount());
+
+            // The pending prefetch is cancelled, its page is never counted
+            iterator.previous();
+            assertEquals(40, iterator.getCount());
+            Thread.sleep(800);
+            assertEquals(40, requestBuilder.getCount());
+        } finally {
+            server.setLatency(Duration.ZERO);
+        }
+    }
+
+    @Test
+    public void testBatchUsers() {
+        List<String> usernames = IntStream.range(0, 50).mapToObj(i -> "user" + i).collect(Collectors.toList());
+        Map<String, User> users = redditClient.api().userApi().getUsers(usernames, 16);
+        assertEquals(50, users.size());
+        assertEquals("user7", users.get("user7").getUsername());
+    }
+
+    @Test
+    public void testRefreshOnUnauthorized() {
+        long retries = redditClient.getUnauthorizedRetries();
+        server.expireTokens();
+        assertNotNull(redditClient.api().userApi().getUser("ThreeSixty404"));
+        assertEquals(1, server.getTokenRequests());
+        assertEquals(retries + 1, redditClient.getUnauthorizedRetries());
+    }
+
+    @Test
+    public void testSingleFlightRefresh() {
+        UserApi userApi = redditClient.api().userApi();
+        List<String> usernames = IntStream.range(0, 16).mapToObj(i -> "User" + i).collect(Collectors.toList());
+
+        // All the requests are rejected at about the same time, only one of them refreshes the token
+        server.expireTokens();
+        server.setLatency(Duration.ofMillis(50));
+        try {
+            Map<String, User> users = userApi.getUsers(usernames, usernames.size());
+            assertEquals(usernames.size(), users.values().stream().filter(Objects::nonNull).count());
+            assertEquals(1, server.getTokenRequests());
+
+            server.expireTokens();
+            List<CompletableFuture<User>> futures = usernames.stream()
+                    .map(username -> username + "Async")
+                    .map(userApi::getUserAsync)
+                    .collect(Collectors.toList());
+            futures.forEach(future -> assertNotNull(future.join()));
+            assertEquals(2, server.getTokenRequests());
+        } finally {
+            server.setLatency(Duration.ZERO);
+        }
+    }
+
+    @Test
+    public void testBackgroundRenewal() throws OAuthException, InterruptedException {
+        OAuthParameters renewing = builder(server).setProactiveRenewal(true).build();
+        RenewingFlow flow = new RenewingFlow(renewing);
+
+        // Tokens are renewed one second after being issued
+        server.setTokenExpiresIn(181);
+        try {
+            flow.authenticate();
+            server.resetCounters();
+            String first = flow.getAuthInfo().getAccessToken();
+            Thread.sleep(2500);
+            assertTrue(server.getTokenRequests() >= 1);
+            assertNotEquals(first, flow.getAuthInfo().getAccessToken());
+
+            // Revoked tokens have no expire time, the pending renewal is cancelled
+            flow.revoke();
+            long tokenRequests = server.getTokenRequests();
+            Thread.sleep(1500);
+            assertEquals(tokenRequests, server.getTokenRequests());
+            assertNull(flow.getAuthInfo().getAccessToken());
+        } finally {
+            server.setTokenExpiresIn(3600);
+        }
+    }
+
+    @Test
+    public void testDefaultClients() {
+        OkHttpClient first = ClientUtils.defaultHttpClient();
+        OkHttpClient second = ClientUtils.defaultHttpClient();
+        assertSame(first.connectionPool(), second.connectionPool());
+        assertNotSame(first.dispatcher(), second.dispatcher());
+        assertEquals(ClientUtils.DEFAULT_MAX_REQUESTS_PER_HOST, first.dispatcher().getMaxRequestsPerHost());
+    }
+
+    @Test
+    public void testAsyncRefreshDoesNotBlock() {
+        // Tokens expire as soon as they are issued, every request needs a refresh
+        server.setTokenExpiresIn(1);
+        RedditClient client = RedditClient.login(parameters);
+        assertNotNull(client);
+        server.resetCounters();
+        server.setLatency(Duration.ofMillis(500));
+        try {
+            long start = System.nanoTime();
+            CompletableFuture<User> future = client.api().userApi().getUserAsync("ThreeSixty404");
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 250);
+            assertNotNull(future.join());
+            assertEquals(1, server.getTokenRequests());
+        } finally {
+            server.setLatency(Duration.ZERO);
+            server.setTokenExpiresIn(3600);
+        }
+    }
+
+    @Test
+    public void testTwoServers() throws IOException {
+        try (MockRedditServer other = new MockRedditServer().start()) {
+            RedditClient otherClient = RedditClient.login(parameters(other));
+            assertNotNull(otherClient);
+            assertEquals(other.getApiBaseURL(), otherClient.getApiBaseURL());
+
+            assertNotNull(otherClient.api().userApi().getUser("ThreeSixty404"));
+            assertNotNull(redditClient.api().userApi().getUser("ThreeSixty404"));
+            assertEquals(1, other.getApiRequests());
+            assertEquals(1, server.getApiRequests());
+        }
+    }
+
+    @Test
+    public void testURLOverrides() throws IOException {
+        try (MockRedditServer other = new MockRedditServer().start().overrideURLs()) {
+            RedditClient otherClient = RedditClient.login(parameters(null));
+            assertNotNull(otherClient);
+            assertNotNull(otherClient.api().userApi().getUser("ThreeSixty404"));
+            assertEquals(1, other.getApiRequests());
+        }
+        assertEquals(URLEnum.OAUTH_API_BASE_URL.getDefaultURL(), URLEnum.OAUTH_API_BASE_URL.toString());
+    }
+
+    @Test
+    public void testRetryInjectedErrors() {
+        long retries = redditClient.getRetryPolicy().getRetries();
+        // Not 503, OkHttp itself retries a 503 with "Retry-After: 0" once
+        server.failNext(502, 2);
+        assertNotNull(redditClient.api().userApi().getUser("ThreeSixty404"));
+        assertEquals(retries + 2, redditClient.getRetryPolicy().getRetries());
+        assertEquals(3, server.getApiRequests());
+    }
+
+    @Test
+    public void testAsyncRetryDoesNotBlock() {
+        // A single dispatcher thread, a retry waiting in it would delay the second request too
+        OkHttpClient httpClient = new OkHttpClient.Builder().dispatcher(new Dispatcher()).build();
+        httpClient.dispatcher().setMaxRequests(1);
+        RetryPolicy retryPolicy = new RetryPolicy();
+        RedditClient client = RedditClient.login(builder(server).setHttpClient(httpClient).setRetryPolicy(retryPolicy).build());
+        assertNotNull(client);
+        server.resetCounters();
+        server.setRetryAfter(1).failNext(503, 1);
+        try {
+            CompletableFuture<User> retried = client.api().userApi().getUserAsync("ThreeSixty404");
+            while (server.getApiRequests() == 0) {
+                Thread.onSpinWait();
+            }
+            long start = System.nanoTime();
+            assertNotNull(client.api().userApi().getUserAsync("Someone").join());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 500);
+            assertFalse(retried.isDone());
+
+            assertNotNull(retried.join());
+            assertEquals(1, retryPolicy.getRetries());
+            assertEquals(3, server.getApiRequests());
+        } finally {
+            server.setRetryAfter(0);
+        }
+    }
+
+    @Test
+    public void testUnsuccessfulStatus() throws OAuthException {
+        OAuthFlow flow = new OAuthScriptFlow.Builder().from(parameters);
+        flow.authenticate();
+        String url = UserEndpoints.ABOUT.getFullEndpointRaw(flow.getApiBaseURL()).formatted("ThreeSixty404");
+
+        // Not retried, the error body must not be bound
+        server.failNext(400, 2);
+        assertNull(flow.get(url, User.class));
+        CompletionException ex = assertThrows(CompletionException.class, () -> flow.<User>getAsync(url, User.class).join());
+        assertTrue(ex.getCause() instanceof HttpStatusException);
+        assertEquals(400, ((HttpStatusException) ex.getCause()).getCode());
+        assertNotNull(flow.get(url, User.class));
+    }
+
+    @Test
+    public void testUserNotFound() {
+        UserApi userApi = redditClient.api().userApi();
+        server.failNext(404, 1);
+        assertNull(userApi.getUser("Nobody"));
+        assertNull(userApi.getUser("nobody"));
+        assertEquals(1, server.getApiRequests());
+
+        server.failNext(404, 1);
+        assertNull(userApi.getUserAsync("Ghost").join());
+        assertNull(userApi.getUserAsync("Ghost").join());
+        assertEquals(2, server.getApiRequests());
+
+        // Other errors are not remembered
+        server.failNext(400, 1);
+        assertThrows(CompletionException.class, () -> userApi.getUserAsync("Someone").join());
+        assertNotNull(userApi.getUser("Someone"));
+    }
+
+    @Test
+    public void testErrorsAreNotCached() {
+        OAuthParameters cached = builder(server)
+                .setResponseCache(TTLResponseCache.withDefaults(16))
+                .setConditionalRequests(false)
+                .build();
+        UserApi userApi = RedditClient.login(cached).api().userApi();
+        server.resetCounters();
+
+        server.failNext(400, 1);
+        assertNull(userApi.getUser("ThreeSixty404"));
+        assertNotNull(userApi.getUser("ThreeSixty404"));
+        assertNotNull(userApi.getUser("ThreeSixty404"));
+        assertEquals(2, server.getApiRequests());
+
+        server.failNext(400, 1);
+        assertThrows(CompletionException.class, () -> userApi.getUserAsync("Someone").join());
+        assertNotNull(userApi.getUserAsync("Someone").join());
+        assertNotNull(userApi.getUserAsync("Someone").join());
+        assertEquals(4, server.getApiRequests());
+    }
+
+    @Test
+    public void testConditionalRequests() throws InterruptedException {
+        TTLResponseCache cache = new TTLResponseCache(16).setTTL(UserEndpoints.ABOUT, Duration.ofMillis(50));
+        OAuthParameters conditional = builder(server)
+                .setResponseCache(cache)
+                .setConditionalRequests(true)
+                .build();
+        UserApi userApi = RedditClient.login(conditional).api().userApi();
+        server.resetCounters();
+
+        User user = userApi.getUser("ThreeSixty404");
+        assertNotNull(user);
+
+        // Not modified, the stale object is reused
+        Thread.sleep(100);
+        assertSame(user, userApi.getUser("ThreeSixty404"));
+        assertEquals(1, cache.getStats().revalidations());
+
+        // Server errors fall back to the stale object, which is neither replaced nor renewed
+        Thread.sleep(100);
+        server.failNext(501, 2);
+        assertSame(user, userApi.getUser("ThreeSixty404"));
+        assertSame(user, userApi.getUserAsync("ThreeSixty404").join());
+        assertEquals(1, cache.getStats().revalidations());
+
+        assertSame(user, userApi.getUserAsync("ThreeSixty404").join());
+        assertEquals(2, cache.getStats().revalidations());
+        assertEquals(5, server.getApiRequests());
+    }
+
+    @Test
+    public void testDiskCache(@TempDir Path dir) {
+        DiskCachePolicy policy = DiskCachePolicy.withDefaults();
+        assertEquals(Duration.ofHours(1), policy.getMaxAge(HttpUrl.get(server.getApiBaseURL() + "/user/someone/about")));
+        assertEquals(Duration.ZERO, policy.getMaxAge(HttpUrl.get(server.getApiBaseURL() + "/api/v1/me/prefs")));
+
+        OAuthParameters diskCached = builder(server)
+                .setDiskCache(dir.toFile(), 1024 * 1024)
+                .setDiskCachePolicy(policy)
+                .build();
+        RedditClient client = RedditClient.login(diskCached);
+        server.resetCounters();
+
+        // The response is rewritten as cacheable, the second request is served from disk
+        UserApi userApi = client.api().userApi();
+        assertNotNull(userApi.getUser("ThreeSixty404"));
+        assertNotNull(userApi.getUser("ThreeSixty404"));
+        assertEquals(1, server.getApiRequests());
+
+        // Errors and endpoints without a max age are not stored
+        server.failNext(400, 1);
+        assertNull(userApi.getUser("Someone"));
+        assertNotNull(userApi.getUser("Someone"));
+        assertNotNull(client.api().accountApi().getPrefs());
+        assertNotNull(client.api().accountApi().getPrefs());
+        assertEquals(5, server.getApiRequests());
+    }
+
+    @Test
+    public void testBasePathPrefix(@TempDir Path dir) {
+        server.setPathPrefix("/proxy/reddit");
+        try {
+            List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+            OAuthParameters prefixed = builder(server)
+                    .setDiskCache(dir.toFile(), 1024 * 1024)
+                    .setRequestListener(metrics::add)
+                    .build();
+            RedditClient client = RedditClient.login(prefixed);
+            server.resetCounters();
+            metrics.clear();
+
+            // Endpoints are matched relative to the base URL, so the disk cache and the metrics recognize them
+            UserApi userApi = client.api().userApi();
+            assertNotNull(userApi.getUser("ThreeSixty404"));
+            assertNotNull(userApi.getUser("ThreeSixty404"));
+            assertEquals(1, server.getApiRequests());
+            assertFalse(metrics.isEmpty());
+            assertTrue(metrics.stream().allMatch(m -> m.endpoint() == UserEndpoints.ABOUT));
+
+            assertEquals(UserEndpoints.ABOUT, EndpointUtils.resolve(HttpUrl.get(server.getApiBaseURL() + "/user/someone/about"), "/proxy/reddit"));
+            assertNull(EndpointUtils.resolve(HttpUrl.get(server.getApiBaseURL() + "/user/someone/about")));
+            assertNull(EndpointUtils.resolve(HttpUrl.get("http://127.0.0.1/proxy/redditx/user/someone/about"), "/proxy/reddit"));
+        } finally {
+            server.setPathPrefix("");
+        }
+    }
+
+    /**
+     * Script flow that renews tokens exactly {@link #getRenewalMarginSeconds()} before they expire
+     * and that can revoke them.
+     */
+    private static class RenewingFlow extends OAuthScriptFlow {
+
+        RenewingFlow(OAuthParameters parameters) {
+            getAuthData().setClientID(parameters.getClientID());
+            getAuthData().setClientSecret(parameters.getClientSecret());
+            getAuthData().setUsername(parameters.getUsername());
+            getAuthData().setPassword(parameters.getPassword());
+            setParameters(parameters);
+            setRenewalMarginSeconds(0);
+            setRenewalJitterSeconds(0);
+        }
+
+        void revoke() {
+            revokeToken(true);
+        }
+    }
+
+    /**
+     * @return the parameters to log in to the given server, or to the {@link URLEnum} URLs if null
+     */
+    private static OAuthParameters parameters(MockRedditServer server) {
+        return builder(server).build();
+    }
+
+    /**
+     * @return a builder for the parameters to log in to the given server, or to the {@link URLEnum} URLs if null
+     */
+    private static OAuthParameters.ScriptFlowBuilder builder(MockRedditServer server) {
+        return new OAuthParameters.ScriptFlowBuilder()
+                .setUserAgent("RAW4J Mock Test")
+                .setUsername("ThreeSixty404")
+                .setPassword("password")
+                .setClientID("mock-client")
+                .setClientSecret("mock-secret")
+                .setApiBaseURL(server != null ? server.getApiBaseURL() : null)
+                .setAuthBaseURL(server != null ? server.getAuthBaseURL() : null);
+    }
+}
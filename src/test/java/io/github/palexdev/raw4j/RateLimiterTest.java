@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j;
+
+import io.github.palexdev.raw4j.http.RateLimiter;
+import io.github.palexdev.raw4j.http.RateLimiter.Permit;
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private Headers headers(double remaining, int used, long reset) {
+        return Headers.of(
+                RateLimiter.REMAINING_HEADER, String.valueOf(remaining),
+                RateLimiter.USED_HEADER, String.valueOf(used),
+                RateLimiter.RESET_HEADER, String.valueOf(reset)
+        );
+    }
+
+    @Test
+    public void testUnknownBudget() {
+        RateLimiter rateLimiter = new RateLimiter(2);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.reserve());
+        }
+
+        rateLimiter.update(Headers.of("Content-Type", "application/json"));
+        assertEquals(-1, rateLimiter.getRemaining());
+        assertEquals(0, rateLimiter.reserve());
+    }
+
+    @Test
+    public void testPacing() {
+        RateLimiter rateLimiter = new RateLimiter(2);
+        // 100 requests in 100 seconds, one token per second
+        rateLimiter.update(headers(100, 500, 100));
+        assertEquals(100, rateLimiter.getRemaining());
+        assertEquals(500, rateLimiter.getUsed());
+
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+
+        long third = rateLimiter.reserve();
+        long fourth = rateLimiter.reserve();
+        assertTrue(third > 900 && third <= 1000, "Was: " + third);
+        assertTrue(fourth > 1900 && fourth <= 2000, "Was: " + fourth);
+    }
+
+    @Test
+    public void testExhaustedBudget() {
+        RateLimiter rateLimiter = new RateLimiter(2);
+        rateLimiter.update(headers(0, 2, 1));
+
+        // Callers blocked until the reset are spread out, they do not fire all at once
+        long last = 0;
+        for (int i = 0; i < 5; i++) {
+            long wait = rateLimiter.reserve();
+            assertTrue(wait > 900, "Was: " + wait);
+            assertTrue(wait > last, "Was: " + wait + ", previous: " + last);
+            last = wait;
+        }
+    }
+
+    @Test
+    public void testAcquireAsync() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1);
+        rateLimiter.update(headers(10, 0, 1));
+
+        CompletableFuture<Permit> first = rateLimiter.acquireAsync();
+        assertTrue(first.isDone());
+        assertTrue(first.get().consume());
+        assertFalse(first.get().consume());
+
+        CompletableFuture<Permit> second = rateLimiter.acquireAsync();
+        assertFalse(second.isDone());
+        assertEquals(1, rateLimiter.getQueueDepth());
+        assertNotNull(second.get(1, TimeUnit.SECONDS));
+        assertEquals(0, rateLimiter.getQueueDepth());
+    }
+}
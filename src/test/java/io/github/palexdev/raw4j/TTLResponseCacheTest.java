@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j;
+
+import io.github.palexdev.raw4j.data.User;
+import io.github.palexdev.raw4j.enums.endpoints.AccountEndpoints;
+import io.github.palexdev.raw4j.enums.endpoints.UserEndpoints;
+import io.github.palexdev.raw4j.http.ResponseCache;
+import io.github.palexdev.raw4j.http.TTLResponseCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TTLResponseCacheTest {
+    private static final String URL = "https://oauth.reddit.com/user/ThreeSixty404/about";
+
+    @Test
+    public void testPutAndGet() {
+        TTLResponseCache cache = new TTLResponseCache(16).setTTL(UserEndpoints.ABOUT, Duration.ofMinutes(5));
+        User user = new User();
+        cache.put(UserEndpoints.ABOUT, URL, User.class, user);
+        assertSame(user, cache.get(URL, User.class));
+        assertNull(cache.get(URL, Object.class));
+
+        ResponseCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    public void testNotCached() {
+        TTLResponseCache cache = new TTLResponseCache(16).setTTL(UserEndpoints.ABOUT, Duration.ofMinutes(5));
+        assertFalse(cache.isCacheable(AccountEndpoints.ME));
+
+        // Failed requests are bound to null, they must not replace anything
+        cache.put(UserEndpoints.ABOUT, URL, User.class, null);
+        cache.put(AccountEndpoints.ME, URL, User.class, new User());
+        assertNull(cache.get(URL, User.class));
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    public void testExpiredEntries() throws InterruptedException {
+        TTLResponseCache cache = new TTLResponseCache(16).setTTL(UserEndpoints.ABOUT, Duration.ofMillis(1));
+        User user = new User();
+        cache.put(UserEndpoints.ABOUT, URL, User.class, user, "\"v1\"", null);
+        cache.put(UserEndpoints.ABOUT, URL, Object.class, new Object());
+        Thread.sleep(10);
+
+        // Without validators expired entries are dropped
+        assertNull(cache.get(URL, Object.class));
+        assertNull(cache.getStale(URL, Object.class));
+
+        assertNull(cache.get(URL, User.class));
+        ResponseCache.Stale<User> stale = cache.getStale(URL, User.class);
+        assertNotNull(stale);
+        assertSame(user, stale.value());
+        assertEquals("\"v1\"", stale.eTag());
+
+        cache.setTTL(UserEndpoints.ABOUT, Duration.ofMinutes(5));
+        cache.revalidated(URL, User.class);
+        assertSame(user, cache.get(URL, User.class));
+        assertEquals(1, cache.getStats().revalidations());
+    }
+
+    @Test
+    public void testEviction() {
+        TTLResponseCache cache = new TTLResponseCache(2).setTTL(UserEndpoints.ABOUT, Duration.ofMinutes(5));
+        cache.put(UserEndpoints.ABOUT, URL + "1", User.class, new User());
+        cache.put(UserEndpoints.ABOUT, URL + "2", User.class, new User());
+        cache.put(UserEndpoints.ABOUT, URL + "3", User.class, new User());
+        assertNull(cache.get(URL + "1", User.class));
+        assertEquals(1, cache.getStats().evictions());
+        assertEquals(2, cache.getStats().size());
+    }
+}
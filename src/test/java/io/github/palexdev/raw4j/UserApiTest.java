@@ -31,6 +31,8 @@ import io.github.palexdev.raw4j.enums.UserListType;
 import io.github.palexdev.raw4j.oauth.OAuthParameters;
 import org.junit.jupiter.api.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static io.github.palexdev.raw4j.json.GsonInstance.toJson;
@@ -157,4 +159,13 @@ public class UserApiTest extends CommonTestProperties {
         assertEquals(1, trophies.trophies().size());
         logger.trace("\n" + toJson(trophies));
     }
+
+    @Test
+    public void testGetUsers() {
+        Map<String, User> users = redditClient.userApi().getUsers(List.of(TestConfig.TEST_USERNAME, TestConfig.TEST_USERNAME2, TestConfig.TEST_AVAILABLE_USERNAME), 2);
+        assertEquals(2, users.size());
+        assertTrue(users.containsKey(TestConfig.TEST_USERNAME));
+        assertTrue(users.containsKey(TestConfig.TEST_USERNAME2));
+        assertFalse(users.containsKey(TestConfig.TEST_AVAILABLE_USERNAME));
+    }
 }
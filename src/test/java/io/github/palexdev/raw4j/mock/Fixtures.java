@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.mock;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.palexdev.raw4j.json.GsonInstance.fromJson;
+import static io.github.palexdev.raw4j.json.GsonInstance.toJson;
+
+/**
+ * Builds the JSON documents served by the {@link MockRedditServer} and used by the benchmarks from the
+ * fixtures in 'TestJson'.
+ * <p></p>
+ * Listings of any size are built by repeating the items of the fixtures, each copy has its own id and name,
+ * so that the benchmarks don't depend on how many items were captured when the fixtures were saved.
+ */
+public class Fixtures {
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    private Fixtures() {}
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * @return the content of the given fixture, as is
+     */
+    public static String load(String name) {
+        return toJson(loadObject(name));
+    }
+
+    /**
+     * Parses the given fixture from the classpath.
+     */
+    public static JsonObject loadObject(String name) {
+        InputStream stream = Fixtures.class.getResourceAsStream("/io/github/palexdev/raw4j/TestJson/" + name);
+        if (stream == null) {
+            throw new IllegalStateException("Fixture not found: " + name);
+        }
+        try (Reader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return fromJson(reader, JsonObject.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read fixture: " + name, ex);
+        }
+    }
+
+    /**
+     * Builds a listing of the given size from the children of the Overview fixture.
+     *
+     * @param kind the kind of the children to keep ("t1" for comments, "t3" for posts), null to keep all of them
+     * @param size the number of children of the listing
+     */
+    public static String listing(String kind, int size) {
+        return toJson(listingObject(kind, size));
+    }
+
+    /**
+     * Same as {@link #listing(String, int)} but returns the parsed listing, so that it can be modified.
+     */
+    public static JsonObject listingObject(String kind, int size) {
+        return listingObject(kind, size, 0);
+    }
+
+    /**
+     * Same as {@link #listingObject(String, int)} but the ids of the children start from the given offset,
+     * so that the pages of a listing have different children.
+     */
+    public static JsonObject listingObject(String kind, int size, int offset) {
+        JsonObject listing = loadObject("Overview.json");
+        JsonObject data = listing.getAsJsonObject("data");
+        List<JsonObject> children = new ArrayList<>();
+        for (JsonElement child : data.getAsJsonArray("children")) {
+            if (kind == null || kind.equals(child.getAsJsonObject().get("kind").getAsString())) {
+                children.add(child.getAsJsonObject());
+            }
+        }
+        data.add("children", repeat(children, size, offset));
+        data.addProperty("dist", size);
+        return listing;
+    }
+
+    /**
+     * Builds a trophy list of the given size from the trophies of the TrophyList fixture.
+     */
+    public static String trophyList(int size) {
+        JsonObject trophyList = loadObject("TrophyList.json");
+        JsonObject data = trophyList.getAsJsonObject("data");
+        List<JsonObject> trophies = new ArrayList<>();
+        data.getAsJsonArray("trophies").forEach(trophy -> trophies.add(trophy.getAsJsonObject()));
+        data.add("trophies", repeat(trophies, size, 0));
+        return toJson(trophyList);
+    }
+
+    /**
+     * Copies the given things, cycling through them, until the given size is reached.
+     * Each copy gets a new id, counting from the given offset, comments and posts also get a new fullname.
+     */
+    private static JsonArray repeat(List<JsonObject> things, int size, int offset) {
+        if (things.isEmpty()) {
+            throw new IllegalStateException("No items to repeat in the fixture");
+        }
+
+        JsonArray array = new JsonArray(size);
+        for (int i = 0; i < size; i++) {
+            JsonObject thing = things.get(i % things.size()).deepCopy();
+            JsonObject data = thing.getAsJsonObject("data");
+            String kind = thing.get("kind").getAsString();
+            String id = Integer.toString(offset + i, 36);
+            data.addProperty("id", id);
+            if (kind.equals("t1") || kind.equals("t3")) {
+                data.addProperty("name", kind + "_" + id);
+            }
+            array.add(thing);
+        }
+        return array;
+    }
+}
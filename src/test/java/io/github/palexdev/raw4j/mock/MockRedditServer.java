@@ -0,0 +1,533 @@
+/*
+ * Copyright (C) 2021 Parisi Alessandro
+ * This file is part of RAW4J (https://github.com/palexdev/RAW4J).
+ *
+ * RAW4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * RAW4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with RAW4J.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.palexdev.raw4j.mock;
+
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.palexdev.raw4j.enums.endpoints.URLEnum;
+import io.github.palexdev.raw4j.http.RateLimiter;
+import io.github.palexdev.raw4j.oauth.OAuthParameters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.github.palexdev.raw4j.json.GsonInstance.toJson;
+
+/**
+ * Local stand-in for the Reddit API and OAuth servers, built on the JDK {@link HttpServer}, to run
+ * tests and benchmarks offline and reproducibly.
+ * <p>
+ * The API and the OAuth endpoints are served by two servers on the loopback address, see {@link #getApiBaseURL()}
+ * and {@link #getAuthBaseURL()}, different ports let the clients tell API requests apart. A client is pointed to this
+ * server by passing those URLs to its {@link OAuthParameters}, or all the clients at once with {@link #overrideURLs()},
+ * which overrides the {@link URLEnum}s.
+ * <p></p>
+ * The API serves the fixtures in 'TestJson', see {@link Fixtures}:
+ * <p> - users' about and trophies, the logged user's info, prefs and trophies
+ * <p> - users' posts, comments and overview, as {@link #setListingPages(int)} pages of 'limit' items linked by
+ * their 'after' and 'before' properties
+ * <p> - username availability, always false
+ * <p></p>
+ * API requests must carry a token issued by the OAuth server, otherwise the response is a 401, see {@link #expireTokens()}.
+ * Every API response carries the rate limit headers read by the {@link RateLimiter}, requests over the limit get a 429,
+ * see {@link #setRateLimit(int, Duration)}. Successful responses carry an "ETag" computed from the body,
+ * conditional requests with a matching "If-None-Match" get a 304 with no body.
+ * <p>
+ * Latency and errors can be injected, see {@link #setLatency(Duration)}, {@link #failNext(int, int)} and
+ * {@link #setErrorRate(double, int)}. Injected errors carry a "Retry-After: 0" header so that retries are immediate,
+ * see {@link #setRetryAfter(int)}.
+ * <p></p>
+ * The "sun.net.httpserver.nodelay" system property should be set to true before the first server is created,
+ * otherwise small responses are delayed by Nagle's algorithm.
+ */
+public class MockRedditServer implements Closeable {
+    //================================================================================
+    // Properties
+    //================================================================================
+    private static final Pattern ABOUT = Pattern.compile("/user/([^/]+)/about");
+    private static final Pattern TROPHIES = Pattern.compile("/api/v1/user/([^/]+)/trophies");
+    private static final Pattern LISTING = Pattern.compile("/user/([^/]+)/(submitted|comments|overview)");
+
+    private final HttpServer apiServer;
+    private final HttpServer authServer;
+    private final ExecutorService executor;
+    private final Map<String, String> overrides = new HashMap<>();
+
+    private final JsonObject user = Fixtures.loadObject("User.json");
+    private final byte[] prefs = bytes(Fixtures.load("Prefs.json"));
+    private final byte[] trophies = bytes(Fixtures.load("TrophyList.json"));
+    private final Map<String, byte[]> pages = new ConcurrentHashMap<>();
+
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger tokenCount = new AtomicInteger();
+    private final AtomicLong apiRequests = new AtomicLong();
+    private final AtomicLong tokenRequests = new AtomicLong();
+    private final Queue<Integer> injectedErrors = new ConcurrentLinkedQueue<>();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int listingPages = 4;
+    private volatile String pathPrefix = "";
+    private volatile int tokenExpiresIn = 3600;
+    private volatile double errorRate = 0;
+    private volatile int errorCode = 503;
+    private volatile int retryAfter = 0;
+
+    private int rateLimit = 600;
+    private long rateLimitWindow = Duration.ofMinutes(10).toMillis();
+    private int used;
+    private long windowStart = System.currentTimeMillis();
+
+    //================================================================================
+    // Constructors
+    //================================================================================
+    public MockRedditServer() throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("MockRedditServer - " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        apiServer = HttpServer.create(new InetSocketAddress(loopback, 0), 0);
+        apiServer.createContext("/", this::handleApi);
+        apiServer.setExecutor(executor);
+        authServer = HttpServer.create(new InetSocketAddress(loopback, 0), 0);
+        authServer.createContext("/", this::handleAuth);
+        authServer.setExecutor(executor);
+    }
+
+    //================================================================================
+    // Methods
+    //================================================================================
+
+    /**
+     * Starts both servers.
+     */
+    public MockRedditServer start() {
+        apiServer.start();
+        authServer.start();
+        return this;
+    }
+
+    /**
+     * Points the {@link URLEnum}s to this server by setting their system properties, see {@link URLEnum#getPropertyKey()}.
+     * The properties are cleared by {@link #close()}.
+     */
+    public MockRedditServer overrideURLs() {
+        override(URLEnum.OAUTH_API_BASE_URL, getApiBaseURL());
+        override(URLEnum.OAUTH_AUTH_URL, getAuthBaseURL() + "/api/v1/authorize");
+        override(URLEnum.OAUTH_TOKEN_URL, getAuthBaseURL() + "/api/v1/access_token");
+        override(URLEnum.REVOKE_TOKEN_URL, getAuthBaseURL() + "/api/v1/revoke_token");
+        return this;
+    }
+
+    /**
+     * Invalidates all the issued tokens, the next API requests get a 401 until a new token is requested.
+     */
+    public void expireTokens() {
+        tokens.clear();
+    }
+
+    /**
+     * The next {@code times} API requests get a response with the given error code.
+     */
+    public MockRedditServer failNext(int code, int times) {
+        for (int i = 0; i < times; i++) {
+            injectedErrors.add(code);
+        }
+        return this;
+    }
+
+    /**
+     * Resets the requests counters.
+     */
+    public void resetCounters() {
+        apiRequests.set(0);
+        tokenRequests.set(0);
+    }
+
+    /**
+     * Stops both servers and clears the system properties set by {@link #overrideURLs()}.
+     */
+    @Override
+    public void close() {
+        apiServer.stop(0);
+        authServer.stop(0);
+        executor.shutdownNow();
+        overrides.forEach((key, value) -> {
+            if (value.equals(System.getProperty(key))) {
+                System.clearProperty(key);
+            }
+        });
+        overrides.clear();
+    }
+
+    private void override(URLEnum url, String value) {
+        System.setProperty(url.getPropertyKey(), value);
+        overrides.put(url.getPropertyKey(), value);
+    }
+
+    /**
+     * Handles the requests to the OAuth server: issues new tokens and revokes them.
+     */
+    private void handleAuth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            delay();
+            String path = exchange.getRequestURI().getPath();
+            switch (path) {
+                case "/api/v1/access_token" -> {
+                    tokenRequests.incrementAndGet();
+                    String token = "mock-token-" + tokenCount.incrementAndGet();
+                    tokens.add(token);
+                    JsonObject json = new JsonObject();
+                    json.addProperty("access_token", token);
+                    json.addProperty("token_type", "bearer");
+                    json.addProperty("expires_in", tokenExpiresIn);
+                    json.addProperty("scope", "*");
+                    send(exchange, 200, bytes(toJson(json)));
+                }
+                case "/api/v1/revoke_token" -> {
+                    String token = form(exchange.getRequestBody()).get("token");
+                    if (token != null) {
+                        tokens.remove(token);
+                    }
+                    send(exchange, 200, null);
+                }
+                default -> send(exchange, 404, error(404, "Not Found"));
+            }
+        }
+    }
+
+    /**
+     * Handles the requests to the API, checking the token, the injected errors and the rate limit first.
+     */
+    private void handleApi(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            apiRequests.incrementAndGet();
+            delay();
+
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (authorization == null || !tokens.contains(authorization.replace("Bearer ", ""))) {
+                send(exchange, 401, error(401, "Unauthorized"));
+                return;
+            }
+
+            Integer injected = injectedErrors.poll();
+            if (injected == null && errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injected = errorCode;
+            }
+            if (injected != null) {
+                exchange.getResponseHeaders().add("Retry-After", Integer.toString(retryAfter));
+                send(exchange, injected, error(injected, "Injected error"));
+                return;
+            }
+
+            if (!rateLimit(exchange)) {
+                send(exchange, 429, error(429, "Too Many Requests"));
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = path.startsWith(pathPrefix) ?
+                    route(path.substring(pathPrefix.length()), query(exchange.getRequestURI().getRawQuery())) :
+                    null;
+            if (body == null) {
+                send(exchange, 404, error(404, "Not Found"));
+                return;
+            }
+
+            String eTag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+            exchange.getResponseHeaders().add("ETag", eTag);
+            if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                send(exchange, 304, null);
+            } else {
+                send(exchange, 200, body);
+            }
+        }
+    }
+
+    /**
+     * @return the response body for the given API path, null if not served
+     */
+    private byte[] route(String path, Map<String, String> query) {
+        switch (path) {
+            case "/api/v1/me":
+                return bytes(toJson(user.get("data")));
+            case "/api/v1/me/prefs":
+                return prefs;
+            case "/api/v1/me/trophies":
+                return trophies;
+            case "/api/username_available":
+                return bytes("false");
+        }
+
+        Matcher matcher = ABOUT.matcher(path);
+        if (matcher.matches()) {
+            JsonObject about = user.deepCopy();
+            about.getAsJsonObject("data").addProperty("name", matcher.group(1));
+            return bytes(toJson(about));
+        }
+
+        if (TROPHIES.matcher(path).matches()) {
+            return trophies;
+        }
+
+        matcher = LISTING.matcher(path);
+        if (matcher.matches()) {
+            String kind = switch (matcher.group(2)) {
+                case "submitted" -> "t3";
+                case "comments" -> "t1";
+                default -> null;
+            };
+            int limit = Integer.parseInt(query.getOrDefault("limit", "25"));
+            String cursor = query.getOrDefault("after", query.get("before"));
+            String[] position = cursor != null && cursor.startsWith("page_") ? cursor.substring(5).split("_") : new String[]{"0", "0"};
+            return page(kind, limit, Integer.parseInt(position[0]), Integer.parseInt(position[1]));
+        }
+        return null;
+    }
+
+    /**
+     * @return the given page of a listing, pages are linked by their 'after' and 'before' properties ("page_N_K"),
+     * where K is the id of the first item of the page, so that the ids of the items keep counting across the pages
+     */
+    private byte[] page(String kind, int limit, int page, int offset) {
+        int count = listingPages;
+        return pages.computeIfAbsent(kind + "/" + limit + "/" + page + "/" + offset + "/" + count, key -> {
+            JsonObject listing = Fixtures.listingObject(kind, limit, offset);
+            JsonObject data = listing.getAsJsonObject("data");
+            data.addProperty("after", page < count - 1 ? "page_" + (page + 1) + "_" + (offset + limit) : null);
+            data.addProperty("before", page > 0 ? "page_" + (page - 1) + "_" + Math.max(0, offset - limit) : null);
+            return bytes(toJson(listing));
+        });
+    }
+
+    /**
+     * Counts the request in the current rate limit window and adds the rate limit headers to the response.
+     *
+     * @return false if the limit has been exceeded
+     */
+    private synchronized boolean rateLimit(HttpExchange exchange) {
+        long now = System.currentTimeMillis();
+        if (now - windowStart >= rateLimitWindow) {
+            windowStart = now;
+            used = 0;
+        }
+        boolean allowed = used < rateLimit;
+        if (allowed) {
+            used++;
+        }
+
+        long reset = Math.max(1, (windowStart + rateLimitWindow - now) / 1000);
+        exchange.getResponseHeaders().add(RateLimiter.USED_HEADER, String.valueOf(used));
+        exchange.getResponseHeaders().add(RateLimiter.REMAINING_HEADER, String.valueOf((double) (rateLimit - used)));
+        exchange.getResponseHeaders().add(RateLimiter.RESET_HEADER, String.valueOf(reset));
+        return allowed;
+    }
+
+    private void delay() {
+        Duration latency = this.latency;
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int code, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        if (body == null) {
+            exchange.sendResponseHeaders(code, -1);
+            return;
+        }
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(code, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] error(int code, String message) {
+        JsonObject json = new JsonObject();
+        json.addProperty("message", message);
+        json.addProperty("error", code);
+        return bytes(toJson(json));
+    }
+
+    private static Map<String, String> form(InputStream body) throws IOException {
+        return query(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> query(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int index = pair.indexOf('=');
+            String key = URLDecoder.decode(index == -1 ? pair : pair.substring(0, index), StandardCharsets.UTF_8);
+            String value = index == -1 ? "" : URLDecoder.decode(pair.substring(index + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static byte[] bytes(String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    //================================================================================
+    // Getters/Setters
+    //================================================================================
+
+    /**
+     * @return the base URL of the API server, e.g. "http://127.0.0.1:port", followed by the path prefix if any,
+     * see {@link #setPathPrefix(String)}
+     */
+    public String getApiBaseURL() {
+        return "http://127.0.0.1:" + apiServer.getAddress().getPort() + pathPrefix;
+    }
+
+    /**
+     * @return the base URL of the OAuth server
+     */
+    public String getAuthBaseURL() {
+        return "http://127.0.0.1:" + authServer.getAddress().getPort();
+    }
+
+    /**
+     * @return the number of requests received by the API server
+     */
+    public long getApiRequests() {
+        return apiRequests.get();
+    }
+
+    /**
+     * @return the number of tokens issued by the OAuth server
+     */
+    public long getTokenRequests() {
+        return tokenRequests.get();
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+
+    /**
+     * Sets the delay added before every response.
+     */
+    public MockRedditServer setLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public int getListingPages() {
+        return listingPages;
+    }
+
+    /**
+     * Sets the number of pages of every listing, by default 4.
+     */
+    public MockRedditServer setListingPages(int listingPages) {
+        this.listingPages = listingPages;
+        return this;
+    }
+
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+
+    /**
+     * Sets the path under which the API is served, like a proxy would, e.g. "/proxy/reddit".
+     * Requests outside the prefix get a 404, by default there's no prefix.
+     */
+    public MockRedditServer setPathPrefix(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+        return this;
+    }
+
+    public int getTokenExpiresIn() {
+        return tokenExpiresIn;
+    }
+
+    /**
+     * Sets the "expires_in" of the issued tokens in seconds, by default 3600.
+     */
+    public MockRedditServer setTokenExpiresIn(int tokenExpiresIn) {
+        this.tokenExpiresIn = tokenExpiresIn;
+        return this;
+    }
+
+    /**
+     * Sets the probability for each API request to get a response with the given error code.
+     */
+    public MockRedditServer setErrorRate(double errorRate, int errorCode) {
+        this.errorRate = errorRate;
+        this.errorCode = errorCode;
+        return this;
+    }
+
+    /**
+     * Sets the "Retry-After" of the injected errors in seconds, by default 0.
+     */
+    public MockRedditServer setRetryAfter(int retryAfter) {
+        this.retryAfter = retryAfter;
+        return this;
+    }
+
+    /**
+     * Sets the max number of API requests in the given window, by default 600 every 10 minutes as Reddit does.
+     * Resets the current window.
+     */
+    public synchronized MockRedditServer setRateLimit(int rateLimit, Duration window) {
+        this.rateLimit = rateLimit;
+        this.rateLimitWindow = window.toMillis();
+        this.windowStart = System.currentTimeMillis();
+        this.used = 0;
+        return this;
+    }
+}